@@ -0,0 +1,52 @@
+package io.konveyor.tackle.core.internal;
+
+/**
+ * The text of one location asked for with the class file contents command. The content holds
+ * the lines of the range (plus the context lines) from startLine, or the whole text without a
+ * range. It is null when the class file can not be found or has no text, the error says why.
+ */
+public class ClassFileContent {
+
+    private final String uri;
+    private final String content;
+    private final int startLine;
+    // false for an attached source, true for the text of a content provider (decompiler, disassembler)
+    private final boolean decompiled;
+    private final String error;
+
+    private ClassFileContent(String uri, String content, int startLine, boolean decompiled, String error) {
+        this.uri = uri;
+        this.content = content;
+        this.startLine = startLine;
+        this.decompiled = decompiled;
+        this.error = error;
+    }
+
+    public static ClassFileContent of(String uri, String content, int startLine, boolean decompiled) {
+        return new ClassFileContent(uri, content, startLine, decompiled, null);
+    }
+
+    public static ClassFileContent error(String uri, String error) {
+        return new ClassFileContent(uri, null, 0, false, error);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public int getStartLine() {
+        return startLine;
+    }
+
+    public boolean isDecompiled() {
+        return decompiled;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,70 @@
+package io.konveyor.tackle.core.internal;
+
+import static java.lang.String.format;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * The arguments of the class file contents command:
+ * <code>{"locations": [{"uri": "konveyor-jdt://...", "range": {...}}], "contextLines": n}</code>,
+ * the range of a location is optional.
+ */
+public class ClassFileContentParams {
+
+    private final List<String> uris = new ArrayList<>();
+    private final List<Range> ranges = new ArrayList<>();
+    private final int contextLines;
+
+    @SuppressWarnings("unchecked")
+    public ClassFileContentParams(final String commandId, final List<Object> arguments) {
+        Map<String, Object> obj = (Map<String, Object>) arguments.stream().findFirst()
+                .orElseThrow(() -> new UnsupportedOperationException(
+                        format("Command '%s' must be called with one locations argument!", commandId)));
+
+        List<Object> locations = (List<Object>) obj.get("locations");
+        if (locations == null) {
+            throw new UnsupportedOperationException(format("Command '%s' must be called with locations!", commandId));
+        }
+        for (Object location : locations) {
+            Map<String, Object> map = (Map<String, Object>) location;
+            uris.add((String) map.get("uri"));
+            ranges.add(toRange((Map<String, Object>) map.get("range")));
+        }
+        this.contextLines = RuleEntryParams.toInt(obj.get("contextLines"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Range toRange(Map<String, Object> range) {
+        if (range == null) {
+            return null;
+        }
+        return new Range(toPosition((Map<String, Object>) range.get("start")), toPosition((Map<String, Object>) range.get("end")));
+    }
+
+    private static Position toPosition(Map<String, Object> position) {
+        if (position == null) {
+            return new Position();
+        }
+        return new Position(RuleEntryParams.toInt(position.get("line")), RuleEntryParams.toInt(position.get("character")));
+    }
+
+    public List<String> getUris() {
+        return uris;
+    }
+
+    /**
+     * The range of each uri, null when the whole text is asked for.
+     */
+    public List<Range> getRanges() {
+        return ranges;
+    }
+
+    public int getContextLines() {
+        return contextLines;
+    }
+}
@@ -0,0 +1,206 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
+import org.eclipse.jdt.ls.core.internal.ProjectUtils;
+import org.eclipse.lsp4j.Range;
+
+/**
+ * Returns the text of the <code>konveyor-jdt://contents/...</code> locations built for matches in
+ * class files (see SymbolProvider#getLocation), many at a time.
+ *
+ * The text of a class file is its attached source, or the one of the JDT.LS content providers
+ * (decompiler or disassembler) when there is none. The texts and their line tables are kept for
+ * the most recently used class files, incidents of a rule often point into the same few classes.
+ * While a batch is read, the jars opened by the java model are kept open and shared by all of its
+ * class files instead of being opened for each one.
+ */
+public class ClassFileContentProvider {
+
+    private static final String SCHEME = "konveyor-jdt";
+    private static final int MAX_CACHED_CLASS_FILES = 256;
+
+    private static final ClassFileContentProvider INSTANCE = new ClassFileContentProvider();
+
+    // uri path + class file name -> text of the class file
+    private final Map<String, CachedText> texts = new LinkedHashMap<>(MAX_CACHED_CLASS_FILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedText> eldest) {
+            return size() > MAX_CACHED_CLASS_FILES;
+        }
+    };
+
+    public static ClassFileContentProvider getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the content of each location, in the order of the uris. Once the monitor is
+     * cancelled the remaining locations get an error content.
+     */
+    public List<ClassFileContent> getContents(List<String> uris, List<Range> ranges, int contextLines, IProgressMonitor monitor) {
+        List<ClassFileContent> contents = new ArrayList<>(uris.size());
+        JavaModelManager manager = JavaModelManager.getJavaModelManager();
+        manager.cacheZipFiles(this);
+        try {
+            for (int i = 0; i < uris.size(); i++) {
+                // every uri gets an entry, the caller matches them by position
+                if (monitor != null && monitor.isCanceled()) {
+                    contents.add(ClassFileContent.error(uris.get(i), "cancelled"));
+                    continue;
+                }
+                contents.add(getContent(uris.get(i), ranges.get(i), contextLines, monitor));
+            }
+        } finally {
+            manager.flushZipFiles(this);
+        }
+        return contents;
+    }
+
+    private ClassFileContent getContent(String uri, Range range, int contextLines, IProgressMonitor monitor) {
+        try {
+            ClassFileLocation location = ClassFileLocation.parse(uri);
+            if (location == null) {
+                return ClassFileContent.error(uri, "not a " + SCHEME + " class file uri");
+            }
+            CachedText text = getText(location, monitor);
+            if (text == null) {
+                return ClassFileContent.error(uri, "no class file or text found for " + location.className);
+            }
+            if (range == null) {
+                return ClassFileContent.of(uri, text.lines.getLines(0, text.lines.getLineCount() - 1), 0, text.decompiled);
+            }
+            int first = Math.max(range.getStart().getLine() - contextLines, 0);
+            int last = range.getEnd().getLine() + contextLines;
+            return ClassFileContent.of(uri, text.lines.getLines(first, last), first, text.decompiled);
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to get the content of " + uri + ": " + e);
+            return ClassFileContent.error(uri, e.toString());
+        }
+    }
+
+    private CachedText getText(ClassFileLocation location, IProgressMonitor monitor) throws Exception {
+        String key = location.rootPath + "!" + location.className;
+        synchronized (texts) {
+            CachedText text = texts.get(key);
+            if (text != null) {
+                return text;
+            }
+        }
+        IClassFile classFile = location.find();
+        if (classFile == null) {
+            return null;
+        }
+        boolean decompiled = false;
+        String source = classFile.getSource();
+        if (source == null) {
+            // decompiled ahead of time when the jar was in the scope of a search, see DecompiledSourceCache
+            source = DecompiledSourceCache.getInstance().getSource(classFile);
+            decompiled = true;
+        }
+        if (source == null) {
+            source = JavaLanguageServerPlugin.getContentProviderManager().getSource(classFile, monitor);
+        }
+        if (source == null) {
+            return null;
+        }
+        CachedText text = new CachedText(LineTable.of(source), decompiled);
+        synchronized (texts) {
+            texts.put(key, text);
+        }
+        return text;
+    }
+
+    private static final class CachedText {
+        private final LineTable lines;
+        private final boolean decompiled;
+
+        private CachedText(LineTable lines, boolean decompiled) {
+            this.lines = lines;
+            this.decompiled = decompiled;
+        }
+    }
+
+    /*
+     * konveyor-jdt://contents/<path of the jar>?packageName=<package>.<Name>.class&source-range=...
+     */
+    static final class ClassFileLocation {
+        private final String rootPath;
+        private final String packageName;
+        private final String className;
+
+        private ClassFileLocation(String rootPath, String packageName, String className) {
+            this.rootPath = rootPath;
+            this.packageName = packageName;
+            this.className = className;
+        }
+
+        static ClassFileLocation parse(String uri) throws Exception {
+            URI parsed = new URI(uri);
+            if (!SCHEME.equals(parsed.getScheme()) || parsed.getPath() == null || parsed.getQuery() == null) {
+                return null;
+            }
+            String qualifiedName = null;
+            for (String parameter : parsed.getQuery().split("&")) {
+                if (parameter.startsWith("packageName=")) {
+                    qualifiedName = parameter.substring("packageName=".length());
+                }
+            }
+            if (qualifiedName == null || !qualifiedName.endsWith(".class")) {
+                return null;
+            }
+            String typeName = qualifiedName.substring(0, qualifiedName.length() - ".class".length());
+            int lastDot = typeName.lastIndexOf('.');
+            String rootPath = parsed.getPath();
+            // windows paths got a leading '/' to make an uri of them
+            if (System.getProperty("os.name").toLowerCase().indexOf("win") >= 0 && rootPath.startsWith("/")) {
+                rootPath = rootPath.substring(1);
+            }
+            return new ClassFileLocation(rootPath, lastDot > 0 ? typeName.substring(0, lastDot) : "",
+                    typeName.substring(lastDot + 1) + ".class");
+        }
+
+        String getRootPath() {
+            return rootPath;
+        }
+
+        String getPackageName() {
+            return packageName;
+        }
+
+        String getClassName() {
+            return className;
+        }
+
+        IClassFile find() throws Exception {
+            IJavaProject[] projects = ProjectUtils.getJavaProjects();
+            if (projects == null) {
+                return null;
+            }
+            for (IJavaProject project : projects) {
+                IPackageFragmentRoot root = project.findPackageFragmentRoot(Path.fromPortableString(rootPath));
+                if (root == null) {
+                    continue;
+                }
+                IClassFile classFile = root.getPackageFragment(packageName).getClassFile(className);
+                if (classFile != null && classFile.exists()) {
+                    return classFile;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package io.konveyor.tackle.core.internal;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * The columnar form of the symbols of a rule entry, returned when the rule entry asks for
+ * <code>"resultFormat": "compact"</code>.
+ *
+ * URIs, names and container names are written once in a string table and referenced by index,
+ * every other field of the symbols is a parallel int array, so symbol <code>i</code> is
+ * <code>names[i]</code>, <code>kinds[i]</code>, <code>uris[i]</code>, <code>startLines[i]</code>...
+ * Large results repeat the same few URIs thousands of times, which is most of their JSON.
+ * A missing string (no container, no location) is -1, positions without a location are 0.
+ * The snippets (see {@link SnippetSymbolInformation}) are only there when symbols have one.
+ */
+public class CompactSymbolResult {
+
+    public static final String FORMAT = "compact";
+
+    private final String format = FORMAT;
+    private final List<String> strings = new ArrayList<>();
+    private final int[] names;
+    private final int[] containerNames;
+    private final int[] kinds;
+    private final int[] uris;
+    private final int[] startLines;
+    private final int[] startCharacters;
+    private final int[] endLines;
+    private final int[] endCharacters;
+    private int[] snippets;
+    private int[] snippetStartLines;
+
+    private CompactSymbolResult(int size) {
+        names = new int[size];
+        containerNames = new int[size];
+        kinds = new int[size];
+        uris = new int[size];
+        startLines = new int[size];
+        startCharacters = new int[size];
+        endLines = new int[size];
+        endCharacters = new int[size];
+    }
+
+    public static CompactSymbolResult of(List<SymbolInformation> symbols) {
+        CompactSymbolResult result = new CompactSymbolResult(symbols.size());
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < symbols.size(); i++) {
+            SymbolInformation symbol = symbols.get(i);
+            result.names[i] = result.intern(indexes, symbol.getName());
+            result.containerNames[i] = result.intern(indexes, symbol.getContainerName());
+            result.kinds[i] = symbol.getKind() != null ? symbol.getKind().getValue() : 0;
+            Location location = symbol.getLocation();
+            result.uris[i] = result.intern(indexes, location != null ? location.getUri() : null);
+            Range range = location != null ? location.getRange() : null;
+            if (range != null) {
+                result.startLines[i] = range.getStart().getLine();
+                result.startCharacters[i] = range.getStart().getCharacter();
+                result.endLines[i] = range.getEnd().getLine();
+                result.endCharacters[i] = range.getEnd().getCharacter();
+            }
+            if (symbol instanceof SnippetSymbolInformation) {
+                if (result.snippets == null) {
+                    result.snippets = new int[symbols.size()];
+                    Arrays.fill(result.snippets, -1);
+                    result.snippetStartLines = new int[symbols.size()];
+                }
+                result.snippets[i] = result.intern(indexes, ((SnippetSymbolInformation) symbol).getSnippet());
+                result.snippetStartLines[i] = ((SnippetSymbolInformation) symbol).getSnippetStartLine();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The number of symbols.
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Symbol <code>i</code> as a SymbolInformation again.
+     */
+    public SymbolInformation getSymbol(int i) {
+        SymbolInformation symbol = new SymbolInformation();
+        symbol.setName(string(names[i]));
+        symbol.setContainerName(string(containerNames[i]));
+        if (kinds[i] != 0) {
+            symbol.setKind(SymbolKind.forValue(kinds[i]));
+        }
+        if (uris[i] != -1) {
+            symbol.setLocation(new Location(string(uris[i]), new Range(new Position(startLines[i], startCharacters[i]),
+                    new Position(endLines[i], endCharacters[i]))));
+        }
+        if (snippets != null && snippets[i] != -1) {
+            return new SnippetSymbolInformation(symbol, string(snippets[i]), snippetStartLines[i]);
+        }
+        return symbol;
+    }
+
+    /**
+     * A read only view of the symbols, each one is rebuilt when it is read.
+     */
+    public List<SymbolInformation> asList() {
+        return new AbstractList<SymbolInformation>() {
+            @Override
+            public SymbolInformation get(int index) {
+                return getSymbol(index);
+            }
+
+            @Override
+            public int size() {
+                return CompactSymbolResult.this.size();
+            }
+        };
+    }
+
+    private String string(int index) {
+        return index == -1 ? null : strings.get(index);
+    }
+
+    private int intern(Map<String, Integer> indexes, String value) {
+        if (value == null) {
+            return -1;
+        }
+        return indexes.computeIfAbsent(value, v -> {
+            strings.add(v);
+            return strings.size() - 1;
+        });
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public List<String> getStrings() {
+        return strings;
+    }
+
+    public int[] getNames() {
+        return names;
+    }
+
+    public int[] getContainerNames() {
+        return containerNames;
+    }
+
+    public int[] getKinds() {
+        return kinds;
+    }
+
+    public int[] getUris() {
+        return uris;
+    }
+
+    public int[] getStartLines() {
+        return startLines;
+    }
+
+    public int[] getStartCharacters() {
+        return startCharacters;
+    }
+
+    public int[] getEndLines() {
+        return endLines;
+    }
+
+    public int[] getEndCharacters() {
+        return endCharacters;
+    }
+
+    /**
+     * The snippet of each symbol as an index in the strings, null when no symbol has one.
+     */
+    public int[] getSnippets() {
+        return snippets;
+    }
+
+    public int[] getSnippetStartLines() {
+        return snippetStartLines;
+    }
+}
@@ -0,0 +1,346 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+
+import io.konveyor.tackle.core.internal.util.OpenSourceLibraryExclusionManager;
+
+/**
+ * Decompiled sources of the jars without source attachment, kept on disk between runs.
+ *
+ * Entries are content addressed: the sources of a jar are in a directory named after the
+ * SHA-256 of the jar, one <code>.java</code> file per top level type, so the same jar found at
+ * another path (or by another run) is not decompiled again. Jars are decompiled whole with
+ * fernflower, in background jobs running a few at a time, scheduled by {@link #schedule} for the
+ * libraries a search is about to go through. A directory is only moved in place once the jar is
+ * fully decompiled. Jars are hashed by the jobs as well, the hash of each jar path, size and
+ * modification time is kept in <code>hashes.properties</code> of the cache directory so a jar is
+ * only hashed again when it changed.
+ *
+ * The cache directory and the fernflower jar are set with the <code>konveyor.decompileCacheDir</code>
+ * and <code>konveyor.fernflowerJar</code> system properties, nothing is decompiled when the
+ * fernflower jar does not exist.
+ */
+public class DecompiledSourceCache {
+
+    static final String CACHE_DIR_PROPERTY = "konveyor.decompileCacheDir";
+    static final String FERNFLOWER_PROPERTY = "konveyor.fernflowerJar";
+    private static final String DEFAULT_FERNFLOWER_JAR = "/bin/fernflower.jar";
+    private static final String JRE_CONTAINER = "org.eclipse.jdt.launching.JRE_CONTAINER";
+    private static final long DECOMPILE_TIMEOUT_MINUTES = 10;
+    private static final String HASHES_FILE = "hashes.properties";
+
+    private static final DecompiledSourceCache INSTANCE = new DecompiledSourceCache(
+            Paths.get(System.getProperty(CACHE_DIR_PROPERTY, Paths.get(System.getProperty("user.home"), ".konveyor", "decompiled").toString())),
+            Paths.get(System.getProperty(FERNFLOWER_PROPERTY, DEFAULT_FERNFLOWER_JAR)));
+
+    private final Path cacheDir;
+    private final Path fernflowerJar;
+    // jar path, size and modification time -> SHA-256 of the jar, loaded from the cache directory on first use
+    private Map<String, String> hashes;
+    // jar path, size and modification time of the jars scheduled by this run
+    private final Set<String> scheduled = ConcurrentHashMap.newKeySet();
+    // hashes of the jars decompiled, or being decompiled, by this run
+    private final Set<String> decompiling = ConcurrentHashMap.newKeySet();
+    private final JobGroup jobGroup = new JobGroup("Decompiling libraries", Math.max(1, Runtime.getRuntime().availableProcessors() / 2), 0);
+
+    DecompiledSourceCache(Path cacheDir, Path fernflowerJar) {
+        this.cacheDir = cacheDir;
+        this.fernflowerJar = fernflowerJar;
+    }
+
+    public static DecompiledSourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the decompiled source of the top level type of the class file, null when its jar
+     * is not decompiled (yet). Only the cache is read, jars are decompiled when a search
+     * schedules them.
+     */
+    public String getSource(IClassFile classFile) {
+        try {
+            IPackageFragmentRoot root = (IPackageFragmentRoot) classFile.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+            Path jar = getJarPath(root);
+            String hash = jar != null ? getHash(jar) : null;
+            if (hash == null) {
+                return null;
+            }
+            Path source = getSourcePath(cacheDir.resolve(hash), classFile.getParent().getElementName(), classFile.getElementName());
+            if (Files.isRegularFile(source)) {
+                return Files.readString(source, StandardCharsets.UTF_8);
+            }
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to read decompiled source of " + classFile.getElementName() + ": " + e);
+        }
+        return null;
+    }
+
+    /**
+     * Decompiles, in the background, the jars of the projects that have no source attachment,
+     * skipping the open source ones unless the exclusion manager is null.
+     */
+    public void schedule(IJavaProject[] projects, OpenSourceLibraryExclusionManager exclusionManager) {
+        if (!Files.isRegularFile(fernflowerJar)) {
+            return;
+        }
+        for (IJavaProject project : projects) {
+            try {
+                for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+                    if (root.getKind() != IPackageFragmentRoot.K_BINARY || !root.isArchive() || root.getSourceAttachmentPath() != null
+                            || isJre(root) || (exclusionManager != null && exclusionManager.shouldExcludePackageRoot(root))) {
+                        continue;
+                    }
+                    Path jar = getJarPath(root);
+                    if (jar != null) {
+                        schedule(jar);
+                    }
+                }
+            } catch (Exception e) {
+                logInfo("KONVEYOR_LOG: unable to schedule decompilation of the libraries of " + project.getElementName() + ": " + e);
+            }
+        }
+    }
+
+    private void schedule(Path jar) throws IOException {
+        if (!scheduled.add(key(jar))) {
+            return;
+        }
+        Job job = new Job("Decompiling " + jar.getFileName()) {
+            @Override
+            protected IStatus run(IProgressMonitor monitor) {
+                try {
+                    // hashing reads the whole jar, it is kept off the search thread
+                    String hash = hash(jar);
+                    if (!Files.isDirectory(cacheDir.resolve(hash)) && decompiling.add(hash)) {
+                        decompile(jar, hash, monitor);
+                    }
+                } catch (IOException e) {
+                    logInfo("KONVEYOR_LOG: unable to hash " + jar + ": " + e);
+                }
+                return Status.OK_STATUS;
+            }
+        };
+        job.setSystem(true);
+        job.setPriority(Job.DECORATE);
+        job.setJobGroup(jobGroup);
+        job.schedule();
+    }
+
+    private void decompile(Path jar, String hash, IProgressMonitor monitor) {
+        Path target = cacheDir.resolve(hash);
+        Path work = null;
+        try {
+            Files.createDirectories(cacheDir);
+            work = Files.createTempDirectory(cacheDir, hash + ".tmp");
+            Path output = Files.createDirectory(work.resolve("out"));
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process process = new ProcessBuilder(java, "-jar", fernflowerJar.toString(), "-mpm=60", jar.toString(), output.toString())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            if (!process.waitFor(DECOMPILE_TIMEOUT_MINUTES, TimeUnit.MINUTES) || monitor.isCanceled()) {
+                process.destroyForcibly();
+                logInfo("KONVEYOR_LOG: decompilation of " + jar + " did not complete");
+                return;
+            }
+            // fernflower writes a jar of the sources, named after the jar
+            Path sources = output.resolve(jar.getFileName());
+            if (process.exitValue() != 0 || !Files.isRegularFile(sources)) {
+                logInfo("KONVEYOR_LOG: decompilation of " + jar + " failed with exit code " + process.exitValue());
+                return;
+            }
+            Path extracted = work.resolve("sources");
+            extract(sources, extracted);
+            Files.move(extracted, target, StandardCopyOption.ATOMIC_MOVE);
+            logInfo("KONVEYOR_LOG: decompiled " + jar + " to " + target);
+        } catch (Exception e) {
+            // another run may have moved the same jar in place already
+            if (!Files.isDirectory(target)) {
+                logInfo("KONVEYOR_LOG: unable to decompile " + jar + ": " + e);
+            }
+        } finally {
+            delete(work);
+        }
+    }
+
+    /**
+     * Where the source of a class file is in the directory of its jar, nested types are in the
+     * source of their top level type.
+     */
+    static Path getSourcePath(Path jarDir, String packageName, String classFileName) {
+        String typeName = classFileName.endsWith(".class") ? classFileName.substring(0, classFileName.length() - ".class".length()) : classFileName;
+        int nested = typeName.indexOf('$');
+        if (nested > 0) {
+            typeName = typeName.substring(0, nested);
+        }
+        Path dir = jarDir;
+        if (!packageName.isEmpty()) {
+            for (String segment : packageName.split("\\.")) {
+                dir = dir.resolve(segment);
+            }
+        }
+        return dir.resolve(typeName + ".java");
+    }
+
+    static void extract(Path sourcesJar, Path dir) throws IOException {
+        Files.createDirectories(dir);
+        try (ZipFile zip = new ZipFile(sourcesJar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory() || !entry.getName().endsWith(".java")) {
+                    continue;
+                }
+                Path file = dir.resolve(entry.getName()).normalize();
+                if (!file.startsWith(dir)) {
+                    continue;
+                }
+                Files.createDirectories(file.getParent());
+                try (InputStream in = zip.getInputStream(entry)) {
+                    Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    /**
+     * The hash of the jar, computed (and saved with the cache) when the jar is not known yet.
+     */
+    String hash(Path jar) throws IOException {
+        String key = key(jar);
+        String hash = getHashes().get(key);
+        if (hash == null) {
+            hash = sha256(jar);
+            getHashes().put(key, hash);
+            saveHashes();
+        }
+        return hash;
+    }
+
+    /**
+     * The hash of the jar, null when it was never computed.
+     */
+    String getHash(Path jar) throws IOException {
+        return getHashes().get(key(jar));
+    }
+
+    private static String key(Path jar) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+        return jar + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis();
+    }
+
+    private synchronized Map<String, String> getHashes() {
+        if (hashes == null) {
+            hashes = new ConcurrentHashMap<>();
+            Path file = cacheDir.resolve(HASHES_FILE);
+            if (Files.isRegularFile(file)) {
+                Properties properties = new Properties();
+                try (InputStream in = Files.newInputStream(file)) {
+                    properties.load(in);
+                    for (String key : properties.stringPropertyNames()) {
+                        hashes.put(key, properties.getProperty(key));
+                    }
+                } catch (IOException e) {
+                    logInfo("KONVEYOR_LOG: unable to read " + file + ": " + e);
+                }
+            }
+        }
+        return hashes;
+    }
+
+    // written aside and moved in place, so another run never reads half a file
+    private synchronized void saveHashes() {
+        Path file = cacheDir.resolve(HASHES_FILE);
+        Path work = null;
+        try {
+            Files.createDirectories(cacheDir);
+            work = Files.createTempFile(cacheDir, HASHES_FILE, ".tmp");
+            Properties properties = new Properties();
+            properties.putAll(hashes);
+            try (OutputStream out = Files.newOutputStream(work)) {
+                properties.store(out, null);
+            }
+            Files.move(work, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logInfo("KONVEYOR_LOG: unable to write " + file + ": " + e);
+            delete(work);
+        }
+    }
+
+    static String sha256(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
+    private static Path getJarPath(IPackageFragmentRoot root) {
+        if (root == null || !root.isArchive()) {
+            return null;
+        }
+        IPath path = root.isExternal() ? root.getPath() : (root.getResource() != null ? root.getResource().getLocation() : null);
+        return path != null ? path.toFile().toPath() : null;
+    }
+
+    private static boolean isJre(IPackageFragmentRoot root) {
+        try {
+            IClasspathEntry entry = root.getRawClasspathEntry();
+            return entry != null && entry.getEntryKind() == IClasspathEntry.CPE_CONTAINER
+                    && entry.getPath().segment(0).startsWith(JRE_CONTAINER);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void delete(Path dir) {
+        if (dir == null || !Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            logInfo("KONVEYOR_LOG: unable to delete " + dir + ": " + e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package io.konveyor.tackle.core.internal;
+
+import java.util.Arrays;
+
+/**
+ * The start offset of every line of a text, built in one pass so the lines around many
+ * results of the same file are cut without scanning the text again.
+ */
+public final class LineTable {
+
+    private final String text;
+    private final int[] lineStarts;
+    private final int lineCount;
+
+    private LineTable(String text, int[] lineStarts, int lineCount) {
+        this.text = text;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+    }
+
+    public static LineTable of(String text) {
+        int[] starts = new int[64];
+        int count = 1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                i++;
+            } else if (c != '\n' && c != '\r') {
+                continue;
+            }
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+            }
+            starts[count++] = i + 1;
+        }
+        return new LineTable(text, starts, count);
+    }
+
+    public int getLineCount() {
+        return lineCount;
+    }
+
+    /**
+     * The lines from first to last (0 based, both included and clipped to the text), without
+     * their terminators and joined by '\n'.
+     */
+    public String getLines(int first, int last) {
+        first = Math.max(first, 0);
+        last = Math.min(last, lineCount - 1);
+        if (first > last) {
+            return "";
+        }
+        StringBuilder lines = new StringBuilder();
+        for (int line = first; line <= last; line++) {
+            if (line > first) {
+                lines.append('\n');
+            }
+            lines.append(text, lineStarts[line], lineEnd(line));
+        }
+        return lines.toString();
+    }
+
+    private int lineEnd(int line) {
+        int end = line + 1 < lineCount ? lineStarts[line + 1] : text.length();
+        while (end > lineStarts[line] && (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+            end--;
+        }
+        return end;
+    }
+}
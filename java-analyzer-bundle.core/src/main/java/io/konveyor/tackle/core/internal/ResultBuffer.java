@@ -0,0 +1,254 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+/**
+ * The symbols of a search, kept in memory up to a threshold and appended to a memory mapped
+ * temporary file after that, so broad queries do not hold every SymbolInformation on the heap
+ * while the search runs.
+ *
+ * Spilled symbols are written as compact records: kind, URI (an index in a table of the URIs,
+ * which repeat), range, the name and container name in UTF-8 and the snippet of symbols that
+ * have one (see {@link SnippetSymbolInformation}). Only the position of each record stays on the
+ * heap, symbols are read back one by one by {@link #get(int)}, in the order they were added. The
+ * threshold is set with the <code>konveyor.resultBufferThreshold</code> system property, it
+ * defaults to a fifth of the results a search stops at, so broad queries do spill.
+ *
+ * The buffer is not thread safe, the ResultCollector adding to it is.
+ */
+public class ResultBuffer extends AbstractList<SymbolInformation> implements Closeable {
+
+    static final String THRESHOLD_PROPERTY = "konveyor.resultBufferThreshold";
+    static final int DEFAULT_THRESHOLD = SymbolInformationTypeRequestor.DEFAULT_MAX_RESULTS / 5;
+    private static final int CHUNK_SIZE = 8 << 20;
+
+    private final int threshold;
+    private final List<SymbolInformation> memory = new ArrayList<>();
+    // chunk index << 32 | offset in the chunk, of every spilled record
+    private long[] records = new long[1024];
+    private int spilled;
+    private final Map<String, Integer> uriIds = new HashMap<>();
+    private final List<String> uris = new ArrayList<>();
+    private Path file;
+    private FileChannel channel;
+    private final List<MappedByteBuffer> chunks = new ArrayList<>();
+    private long fileSize;
+    // set when the file can not be written, everything stays in memory from then on
+    private boolean spillFailed;
+
+    public ResultBuffer() {
+        this(Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+    }
+
+    ResultBuffer(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean add(SymbolInformation symbol) {
+        if (spilled == 0 && (memory.size() < threshold || spillFailed)) {
+            return memory.add(symbol);
+        }
+        try {
+            spill(symbol);
+        } catch (IOException e) {
+            logInfo("KONVEYOR_LOG: unable to spill results to " + file + ", keeping them in memory: " + e);
+            keepInMemory();
+            memory.add(symbol);
+        }
+        modCount++;
+        return true;
+    }
+
+    /*
+     * Reads the spilled symbols back after the ones in memory, where they were added, and keeps
+     * every later symbol in memory.
+     */
+    void keepInMemory() {
+        spillFailed = true;
+        List<SymbolInformation> spilledSymbols = new ArrayList<>(subList(memory.size(), size()));
+        memory.addAll(spilledSymbols);
+        spilled = 0;
+        close();
+    }
+
+    @Override
+    public SymbolInformation get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        if (index < memory.size()) {
+            return memory.get(index);
+        }
+        long record = records[index - memory.size()];
+        return read(chunks.get((int) (record >>> 32)), (int) record);
+    }
+
+    @Override
+    public int size() {
+        return memory.size() + spilled;
+    }
+
+    /**
+     * Whether some of the symbols are in the file.
+     */
+    public boolean isSpilled() {
+        return spilled > 0;
+    }
+
+    /**
+     * Returns the symbols as a plain list and deletes the file, the buffer is not usable after.
+     */
+    public List<SymbolInformation> release() {
+        List<SymbolInformation> symbols = spilled == 0 ? memory : new ArrayList<>(this);
+        close();
+        return symbols;
+    }
+
+    @Override
+    public void close() {
+        closeFile();
+        chunks.clear();
+    }
+
+    private void closeFile() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logInfo("KONVEYOR_LOG: unable to delete result buffer " + file + ": " + e);
+        }
+        channel = null;
+    }
+
+    private void spill(SymbolInformation symbol) throws IOException {
+        byte[] record = encode(symbol);
+        if (channel == null) {
+            file = Files.createTempFile("konveyor-results", ".bin");
+            file.toFile().deleteOnExit();
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            logInfo("KONVEYOR_LOG: more than " + threshold + " results, spilling to " + file);
+        }
+        MappedByteBuffer chunk = chunks.isEmpty() ? null : chunks.get(chunks.size() - 1);
+        if (chunk == null || chunk.remaining() < record.length) {
+            // records never span two chunks, an oversized record gets a chunk of its own
+            int size = Math.max(CHUNK_SIZE, record.length);
+            chunk = channel.map(FileChannel.MapMode.READ_WRITE, fileSize, size);
+            fileSize += size;
+            chunks.add(chunk);
+        }
+        if (spilled == records.length) {
+            records = Arrays.copyOf(records, records.length * 2);
+        }
+        records[spilled++] = ((long) (chunks.size() - 1) << 32) | chunk.position();
+        chunk.put(record);
+    }
+
+    private byte[] encode(SymbolInformation symbol) {
+        byte[] name = bytes(symbol.getName());
+        byte[] containerName = bytes(symbol.getContainerName());
+        SnippetSymbolInformation withSnippet = symbol instanceof SnippetSymbolInformation ? (SnippetSymbolInformation) symbol : null;
+        byte[] snippet = withSnippet != null ? bytes(withSnippet.getSnippet()) : null;
+        Location location = symbol.getLocation();
+        Range range = location != null ? location.getRange() : null;
+        ByteBuffer buffer = ByteBuffer.allocate(4 * 10 + length(name) + length(containerName) + length(snippet));
+        buffer.putInt(symbol.getKind() != null ? symbol.getKind().getValue() : 0);
+        buffer.putInt(location != null ? uriId(location.getUri()) : -1);
+        buffer.putInt(range != null ? range.getStart().getLine() : 0);
+        buffer.putInt(range != null ? range.getStart().getCharacter() : 0);
+        buffer.putInt(range != null ? range.getEnd().getLine() : 0);
+        buffer.putInt(range != null ? range.getEnd().getCharacter() : 0);
+        putBytes(buffer, name);
+        putBytes(buffer, containerName);
+        putBytes(buffer, snippet);
+        buffer.putInt(withSnippet != null ? withSnippet.getSnippetStartLine() : 0);
+        return buffer.array();
+    }
+
+    private SymbolInformation read(MappedByteBuffer chunk, int offset) {
+        SymbolInformation symbol = new SymbolInformation();
+        int kind = chunk.getInt(offset);
+        int uriId = chunk.getInt(offset + 4);
+        if (kind != 0) {
+            symbol.setKind(SymbolKind.forValue(kind));
+        }
+        if (uriId != -1) {
+            symbol.setLocation(new Location(uris.get(uriId), new Range(
+                    new Position(chunk.getInt(offset + 8), chunk.getInt(offset + 12)),
+                    new Position(chunk.getInt(offset + 16), chunk.getInt(offset + 20)))));
+        }
+        offset += 24;
+        int nameLength = chunk.getInt(offset);
+        symbol.setName(string(chunk, offset + 4, nameLength));
+        offset += 4 + Math.max(nameLength, 0);
+        int containerNameLength = chunk.getInt(offset);
+        symbol.setContainerName(string(chunk, offset + 4, containerNameLength));
+        offset += 4 + Math.max(containerNameLength, 0);
+        int snippetLength = chunk.getInt(offset);
+        if (snippetLength < 0) {
+            return symbol;
+        }
+        String snippet = string(chunk, offset + 4, snippetLength);
+        return new SnippetSymbolInformation(symbol, snippet, chunk.getInt(offset + 4 + snippetLength));
+    }
+
+    private int uriId(String uri) {
+        if (uri == null) {
+            return -1;
+        }
+        return uriIds.computeIfAbsent(uri, u -> {
+            uris.add(u);
+            return uris.size() - 1;
+        });
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int length(byte[] value) {
+        return value != null ? value.length : 0;
+    }
+
+    // length prefixed, -1 for null
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        buffer.putInt(value != null ? value.length : -1);
+        if (value != null) {
+            buffer.put(value);
+        }
+    }
+
+    private static String string(MappedByteBuffer chunk, int offset, int length) {
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        chunk.get(offset, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,230 @@
+package io.konveyor.tackle.core.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+
+import io.konveyor.tackle.core.internal.symbol.MatchRecord;
+
+/**
+ * Merges the symbols of a search into its result list, dropping the ones already in it.
+ *
+ * OR patterns (alternations, location 0) and the fallbacks of the DefaultSymbolProvider can
+ * report the same symbol more than once. A symbol is identified by its URI, range, kind and name,
+ * packed into two longs (URIs and names are interned to ints) kept in an open addressing set,
+ * so the identity of thousands of results costs a few arrays instead of a string per result.
+ * Identities that do not fit the packing (huge ranges) are kept as strings.
+ *
+ * Match records (see {@link MatchRecord}) are identified by their unit, offset, length, kind and
+ * name before anything is materialized, only the ones kept become a SymbolInformation.
+ *
+ * Unless the {@link ResultMode} is FULL, the symbols kept are only counted (per file for
+ * COUNT_BY_FILE) and the result list stays empty. With a {@link SnippetReader}, the symbols
+ * kept get the lines around them from the unit or class file they were found in.
+ */
+public class ResultCollector {
+
+    private static final int START_LINE_BITS = 22;
+    private static final int CHARACTER_BITS = 13;
+    private static final int LINE_SPAN_BITS = 16;
+    private static final int ID_BITS = 29;
+    private static final int KIND_BITS = 5;
+
+    private final List<SymbolInformation> symbols;
+    private final ResultMode mode;
+    private final SnippetReader snippetReader;
+    private int count;
+    // uri -> number of symbols, for COUNT_BY_FILE
+    private final Map<String, Integer> countsByFile = new LinkedHashMap<>();
+    private final Map<String, Integer> uriIds = new HashMap<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private final Map<String, Integer> unitIds = new HashMap<>();
+    private final LongPairSet keys = new LongPairSet();
+    private final LongPairSet recordKeys = new LongPairSet();
+    private final Set<String> unpackedKeys = new HashSet<>();
+    private int duplicates;
+
+    public ResultCollector(List<SymbolInformation> symbols) {
+        this(symbols, ResultMode.FULL);
+    }
+
+    public ResultCollector(List<SymbolInformation> symbols, ResultMode mode) {
+        this(symbols, mode, null);
+    }
+
+    public ResultCollector(List<SymbolInformation> symbols, ResultMode mode, SnippetReader snippetReader) {
+        this.symbols = symbols;
+        this.mode = mode;
+        this.snippetReader = snippetReader;
+    }
+
+    /**
+     * Adds the symbol to the results unless the same symbol is already there.
+     */
+    public boolean add(SymbolInformation symbol) {
+        return add(symbol, null);
+    }
+
+    /**
+     * Same as above for a symbol found in the given unit or class file, where its snippet is read from.
+     */
+    public synchronized boolean add(SymbolInformation symbol, IOpenable openable) {
+        if (!addKey(symbol)) {
+            duplicates++;
+            return false;
+        }
+        count++;
+        if (mode == ResultMode.FULL) {
+            symbols.add(snippetReader != null ? snippetReader.attach(symbol, openable) : symbol);
+        } else if (mode == ResultMode.COUNT_BY_FILE) {
+            countsByFile.merge(String.valueOf(symbol.getLocation() != null ? symbol.getLocation().getUri() : null), 1, Integer::sum);
+        }
+        return true;
+    }
+
+    /**
+     * Adds the symbol of the record to the results unless a record for the same match is already
+     * there, the location of the symbol is only computed when it is added.
+     */
+    public synchronized boolean add(MatchRecord record) throws JavaModelException {
+        if (!addKey(record)) {
+            duplicates++;
+            return false;
+        }
+        count++;
+        if (mode == ResultMode.FULL) {
+            SymbolInformation symbol = record.toSymbolInformation();
+            symbols.add(snippetReader != null ? snippetReader.attach(symbol, record.getElement().getOpenable()) : symbol);
+        } else if (mode == ResultMode.COUNT_BY_FILE) {
+            countsByFile.merge(String.valueOf(record.getUri()), 1, Integer::sum);
+        }
+        return true;
+    }
+
+    public List<SymbolInformation> getSymbols() {
+        return symbols;
+    }
+
+    public ResultMode getMode() {
+        return mode;
+    }
+
+    /**
+     * The number of symbols kept, whether or not they were added to the result list.
+     */
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized Map<String, Integer> getCountsByFile() {
+        return new LinkedHashMap<>(countsByFile);
+    }
+
+    /**
+     * The number of symbols dropped because they were already in the results.
+     */
+    public synchronized int getDuplicates() {
+        return duplicates;
+    }
+
+    private boolean addKey(SymbolInformation symbol) {
+        Location location = symbol.getLocation();
+        Range range = location != null ? location.getRange() : null;
+        int kind = symbol.getKind() != null ? symbol.getKind().getValue() : 0;
+        if (range == null || range.getStart() == null || range.getEnd() == null) {
+            return unpackedKeys.add(String.valueOf(location) + "|" + kind + "|" + symbol.getName());
+        }
+        int startLine = range.getStart().getLine();
+        int startCharacter = range.getStart().getCharacter();
+        int lineSpan = range.getEnd().getLine() - startLine;
+        int endCharacter = range.getEnd().getCharacter();
+        int uriId = intern(uriIds, location.getUri());
+        int nameId = intern(nameIds, symbol.getName());
+        if (!fits(startLine, START_LINE_BITS) || !fits(startCharacter, CHARACTER_BITS) || !fits(lineSpan, LINE_SPAN_BITS)
+                || !fits(endCharacter, CHARACTER_BITS) || !fits(uriId, ID_BITS) || !fits(nameId, ID_BITS) || !fits(kind, KIND_BITS)) {
+            return unpackedKeys.add(location.getUri() + "|" + range + "|" + kind + "|" + symbol.getName());
+        }
+        long identity = ((long) uriId << (ID_BITS + KIND_BITS)) | ((long) nameId << KIND_BITS) | kind;
+        long position = ((long) startLine << (CHARACTER_BITS + LINE_SPAN_BITS + CHARACTER_BITS))
+                | ((long) startCharacter << (LINE_SPAN_BITS + CHARACTER_BITS))
+                | ((long) lineSpan << CHARACTER_BITS)
+                | endCharacter;
+        return keys.add(identity, position);
+    }
+
+    private boolean addKey(MatchRecord record) {
+        String unit = record.getUnitHandle();
+        int kind = record.getKind() != null ? record.getKind().getValue() : 0;
+        int unitId = intern(unitIds, unit);
+        int nameId = intern(nameIds, record.getName());
+        if (record.getOffset() < 0 || record.getLength() < 0 || !fits(unitId, ID_BITS) || !fits(nameId, ID_BITS) || !fits(kind, KIND_BITS)) {
+            return unpackedKeys.add(unit + "|" + record.getOffset() + "|" + record.getLength() + "|" + kind + "|" + record.getName());
+        }
+        long identity = ((long) unitId << (ID_BITS + KIND_BITS)) | ((long) nameId << KIND_BITS) | kind;
+        long position = ((long) record.getOffset() << 32) | record.getLength();
+        return recordKeys.add(identity, position);
+    }
+
+    private static boolean fits(int value, int bits) {
+        return value >= 0 && value < (1 << bits);
+    }
+
+    private static int intern(Map<String, Integer> ids, String value) {
+        return ids.computeIfAbsent(String.valueOf(value), v -> ids.size() + 1);
+    }
+
+    /*
+     * Pairs of longs in open addressing, a pair of zeros is an empty slot (ids start at 1).
+     */
+    private static final class LongPairSet {
+        private long[] keys = new long[2 * 64];
+        private int size;
+
+        boolean add(long identity, long position) {
+            // at most half of the slots are in use
+            if (size + 1 > keys.length / 4) {
+                rehash();
+            }
+            int slot = findSlot(keys, identity, position);
+            if (keys[slot] != 0) {
+                return false;
+            }
+            keys[slot] = identity;
+            keys[slot + 1] = position;
+            size++;
+            return true;
+        }
+
+        // the slot holding the pair, or the empty slot where it belongs
+        private static int findSlot(long[] keys, long identity, long position) {
+            int pairs = keys.length / 2;
+            long hash = identity * 0x9E3779B97F4A7C15L ^ position * 0xC2B2AE3D27D4EB4FL;
+            int index = (int) ((hash ^ (hash >>> 32)) & (pairs - 1));
+            while (keys[2 * index] != 0 && (keys[2 * index] != identity || keys[2 * index + 1] != position)) {
+                index = (index + 1) & (pairs - 1);
+            }
+            return 2 * index;
+        }
+
+        private void rehash() {
+            long[] previous = keys;
+            keys = new long[previous.length * 2];
+            for (int i = 0; i < previous.length; i += 2) {
+                if (previous[i] != 0) {
+                    int slot = findSlot(keys, previous[i], previous[i + 1]);
+                    keys[slot] = previous[i];
+                    keys[slot + 1] = previous[i + 1];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.konveyor.tackle.core.internal;
+
+import static java.lang.String.format;
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.eclipse.lsp4j.SymbolInformation;
+
+/**
+ * Holds the results of paginated rule entries between the calls fetching their pages.
+ *
+ * The first page is returned by the rule entry itself, the rest of the symbols is kept in the
+ * compact form (see {@link CompactSymbolResult}), or in the file they were spilled to (see
+ * {@link ResultBuffer}), under a cursor id. A cursor is dropped once its
+ * last page is fetched, or when it was not used for the time to live, expired cursors are evicted
+ * whenever the store is used.
+ */
+public class ResultCursorStore {
+
+    static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    private static final ResultCursorStore INSTANCE = new ResultCursorStore(DEFAULT_TTL_MILLIS, System::currentTimeMillis);
+
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Cursor> cursors = new ConcurrentHashMap<>();
+
+    ResultCursorStore(long ttlMillis, LongSupplier clock) {
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    public static ResultCursorStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the first page of the symbols, keeping the others under a new cursor when there are more.
+     */
+    public ResultPage firstPage(List<SymbolInformation> symbols, int pageSize, boolean compact) {
+        evictExpired();
+        if (symbols.size() <= pageSize) {
+            List<SymbolInformation> page = symbols instanceof ResultBuffer ? ((ResultBuffer) symbols).release() : symbols;
+            return new ResultPage(null, 0, page.size(), compact ? CompactSymbolResult.of(page) : page);
+        }
+        String id = UUID.randomUUID().toString();
+        // symbols spilled to disk are read from there, the others are kept in compact form
+        List<SymbolInformation> kept = symbols instanceof ResultBuffer && ((ResultBuffer) symbols).isSpilled()
+                ? symbols : CompactSymbolResult.of(symbols).asList();
+        if (kept != symbols && symbols instanceof ResultBuffer) {
+            ((ResultBuffer) symbols).close();
+        }
+        Cursor cursor = new Cursor(kept, pageSize, compact, clock.getAsLong());
+        cursors.put(id, cursor);
+        logInfo("KONVEYOR_LOG: " + symbols.size() + " symbols paginated by " + pageSize + " under cursor " + id);
+        return cursor.next(id, pageSize);
+    }
+
+    /**
+     * Returns the next page of the cursor, pageSize 0 keeps the page size of the first page.
+     */
+    public ResultPage nextPage(String id, int pageSize) {
+        evictExpired();
+        Cursor cursor = id != null ? cursors.get(id) : null;
+        if (cursor == null) {
+            throw new UnsupportedOperationException(format("Unknown or expired result cursor '%s'!", id));
+        }
+        ResultPage page;
+        synchronized (cursor) {
+            cursor.lastAccess = clock.getAsLong();
+            page = cursor.next(id, pageSize > 0 ? pageSize : cursor.pageSize);
+        }
+        if (page.getCursor() == null) {
+            cursors.remove(id);
+            cursor.close();
+        }
+        return page;
+    }
+
+    int size() {
+        return cursors.size();
+    }
+
+    private void evictExpired() {
+        long now = clock.getAsLong();
+        cursors.entrySet().removeIf(e -> {
+            boolean expired = now - e.getValue().lastAccess > ttlMillis;
+            if (expired) {
+                logInfo("KONVEYOR_LOG: evicting expired result cursor " + e.getKey());
+                e.getValue().close();
+            }
+            return expired;
+        });
+    }
+
+    private static final class Cursor {
+        private final List<SymbolInformation> symbols;
+        private final int pageSize;
+        private final boolean compact;
+        private int offset;
+        private volatile long lastAccess;
+
+        private Cursor(List<SymbolInformation> symbols, int pageSize, boolean compact, long lastAccess) {
+            this.symbols = symbols;
+            this.pageSize = pageSize;
+            this.compact = compact;
+            this.lastAccess = lastAccess;
+        }
+
+        private ResultPage next(String id, int pageSize) {
+            int start = offset;
+            int end = Math.min(start + pageSize, symbols.size());
+            List<SymbolInformation> page = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                page.add(symbols.get(i));
+            }
+            offset = end;
+            return new ResultPage(end < symbols.size() ? id : null, start, symbols.size(),
+                    compact ? CompactSymbolResult.of(page) : page);
+        }
+
+        private synchronized void close() {
+            if (symbols instanceof ResultBuffer) {
+                ((ResultBuffer) symbols).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.konveyor.tackle.core.internal;
+
+import static java.lang.String.format;
+
+/**
+ * What a rule entry returns for its matches, set with <code>"resultMode"</code>.
+ */
+public enum ResultMode {
+    // whether there is at least one match, the search stops at the first one
+    EXISTS("exists"),
+    // the number of matches
+    COUNT("count"),
+    // the number of matches in each file
+    COUNT_BY_FILE("countByFile"),
+    // every match as a SymbolInformation
+    FULL("full");
+
+    private final String name;
+
+    ResultMode(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * The mode with the given name, FULL when there is no name.
+     */
+    public static ResultMode of(String name) {
+        if (name == null || name.isEmpty()) {
+            return FULL;
+        }
+        for (ResultMode mode : values()) {
+            if (mode.name.equals(name)) {
+                return mode;
+            }
+        }
+        throw new UnsupportedOperationException(format("Unsupported result mode '%s'!", name));
+    }
+}
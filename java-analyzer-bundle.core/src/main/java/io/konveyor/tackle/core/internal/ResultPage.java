@@ -0,0 +1,42 @@
+package io.konveyor.tackle.core.internal;
+
+/**
+ * A page of the symbols of a rule entry asking for <code>"pageSize"</code>, see {@link ResultCursorStore}.
+ *
+ * The symbols are a list of SymbolInformation, or a {@link CompactSymbolResult} when the rule entry
+ * asked for the compact format. The cursor fetches the next page with the
+ * <code>io.konveyor.tackle.ruleEntryPage</code> command, it is null on the last page.
+ */
+public class ResultPage {
+
+    private final String cursor;
+    private final int offset;
+    private final int total;
+    private final Object symbols;
+
+    public ResultPage(String cursor, int offset, int total, Object symbols) {
+        this.cursor = cursor;
+        this.offset = offset;
+        this.total = total;
+        this.symbols = symbols;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * The index of the first symbol of the page in the whole result.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Object getSymbols() {
+        return symbols;
+    }
+}
@@ -0,0 +1,36 @@
+package io.konveyor.tackle.core.internal;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The arguments of the command fetching the next page of a paginated rule entry.
+ */
+public class RuleEntryPageParams {
+
+    private final String cursor;
+    private final int pageSize;
+
+    public RuleEntryPageParams(final String commandId, final List<Object> arguments) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> obj = (Map<String, Object>) arguments.stream().findFirst()
+                .orElseThrow(() -> new UnsupportedOperationException(
+                        format("Command '%s' must be called with one cursor argument!", commandId)));
+
+        this.cursor = (String) obj.get("cursor");
+        this.pageSize = RuleEntryParams.toInt(obj.get("pageSize"));
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    /**
+     * The size of the page, 0 to keep the size of the previous pages.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+}
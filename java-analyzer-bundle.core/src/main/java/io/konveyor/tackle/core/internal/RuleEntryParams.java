@@ -19,6 +19,11 @@ public class RuleEntryParams {
     private final boolean includeOpenSourceLibraries;
     private final String mavenLocalRepoPath;
     private final String mavenIndexPath;
+    private final boolean transitive;
+    private final String resultFormat;
+    private final ResultMode resultMode;
+    private final int pageSize;
+    private final int contextLines;
 
     public RuleEntryParams(final String commandId, final List<Object> arguments) {
         @SuppressWarnings("unchecked")
@@ -37,6 +42,23 @@ public class RuleEntryParams {
         this.includeOpenSourceLibraries = (includeOpenSourceLibs != null) ? includeOpenSourceLibs : false;
         this.mavenLocalRepoPath = (String) obj.get("mavenLocalRepo");
         this.mavenIndexPath = (String) obj.get("mavenIndexPath");
+        Boolean transitive = (Boolean) obj.get("transitive");
+        this.transitive = (transitive != null) ? transitive : false;
+        this.resultFormat = (String) obj.get("resultFormat");
+        this.resultMode = ResultMode.of((String) obj.get("resultMode"));
+        this.pageSize = toInt(obj.get("pageSize"));
+        this.contextLines = toInt(obj.get("contextLines"));
+    }
+
+    // numbers come as doubles from the JSON arguments, or as strings like the location
+    static int toInt(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        if (value instanceof String && !((String) value).isEmpty()) {
+            return Integer.parseInt((String) value);
+        }
+        return 0;
     }
 
     public String getProjectName() {
@@ -74,4 +96,47 @@ public class RuleEntryParams {
     public String getMavenIndexPath() {
         return mavenIndexPath;
     }
-}
\ No newline at end of file
+
+    /**
+     * Whether inheritance and implements_type queries match indirect subtypes too.
+     */
+    public boolean isTransitive() {
+        return transitive;
+    }
+
+    /**
+     * How the symbols are returned, null for the default (a list of SymbolInformation).
+     */
+    public String getResultFormat() {
+        return resultFormat;
+    }
+
+    public boolean isCompactResult() {
+        return CompactSymbolResult.FORMAT.equals(resultFormat);
+    }
+
+    /**
+     * Whether the matches are returned, counted or only looked for, FULL by default.
+     */
+    public ResultMode getResultMode() {
+        return resultMode;
+    }
+
+    /**
+     * The number of symbols per page, 0 when the symbols are returned at once.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public boolean isPaginated() {
+        return pageSize > 0;
+    }
+
+    /**
+     * The number of lines before and after the location of each symbol returned with it, 0 for none.
+     */
+    public int getContextLines() {
+        return contextLines;
+    }
+}
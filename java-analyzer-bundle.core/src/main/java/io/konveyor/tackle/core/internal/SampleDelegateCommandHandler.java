@@ -2,22 +2,28 @@ package io.konveyor.tackle.core.internal;
 
 import static java.lang.String.format;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.debugTrace;
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logException;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
@@ -25,8 +31,11 @@ import org.eclipse.jdt.core.dom.ImportDeclaration;
 import org.eclipse.jdt.core.search.IJavaSearchConstants;
 import org.eclipse.jdt.core.search.IJavaSearchScope;
 import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchParticipant;
 import org.eclipse.jdt.core.search.SearchPattern;
+import org.eclipse.jdt.core.search.TypeNameMatch;
+import org.eclipse.jdt.core.search.TypeNameMatchRequestor;
 import org.eclipse.jdt.internal.core.search.JavaSearchParticipant;
 import org.eclipse.jdt.ls.core.internal.IDelegateCommandHandler;
 import org.eclipse.jdt.ls.core.internal.JDTUtils;
@@ -38,7 +47,14 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
+import io.konveyor.tackle.core.internal.index.AnnotationIndex;
+import io.konveyor.tackle.core.internal.index.PackageReferenceIndex;
+import io.konveyor.tackle.core.internal.index.PackageReferenceIndex.PackageOccurrence;
+import io.konveyor.tackle.core.internal.index.ReturnTypeIndex;
+import io.konveyor.tackle.core.internal.index.TypeHierarchyIndex;
+import io.konveyor.tackle.core.internal.query.AlternationMatcher;
 import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
 import io.konveyor.tackle.core.internal.util.OpenSourceFilteredSearchScope;
 import io.konveyor.tackle.core.internal.util.OpenSourceLibraryExclusionManager;
 
@@ -46,9 +62,21 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
 
     public static final String COMMAND_ID = "io.konveyor.tackle.samplecommand";
     public static final String RULE_ENTRY_COMMAND_ID = "io.konveyor.tackle.ruleEntry";
+    public static final String RULE_ENTRY_PAGE_COMMAND_ID = "io.konveyor.tackle.ruleEntryPage";
+    public static final String CLASS_FILE_CONTENTS_COMMAND_ID = "io.konveyor.tackle.classFileContents";
 
     private static final String FullAnalysisMode = "full";
     private static final String sourceOnlyAnalysisMode = "source-only";
+    // pipelined searches the sources right away and the application libraries
+    // once the dependency source downloads are done, merging both result sets
+    private static final String pipelinedAnalysisMode = "pipelined";
+
+    // locations whose annotated queries are checked against the annotations of source members
+    private static final Set<Integer> ANNOTATED_LOCATIONS = Set.of(5, 10, 12, 13, 14);
+    // locations that can be answered from the type hierarchy (inheritance and implements_type)
+    private static final Set<Integer> HIERARCHY_LOCATIONS = Set.of(1, 5);
+    // enum_constant searches list the matching constants in one pattern up to this many
+    private static final int MAX_ENUM_CONSTANT_PATTERNS = 256;
 
     @Override
     public Object executeCommand(String commandId, List<Object> arguments, IProgressMonitor progress) throws Exception {
@@ -58,59 +86,69 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
             case RULE_ENTRY_COMMAND_ID:
                 logInfo("Here we get the arguments for rule entry: " + arguments);
                 RuleEntryParams params = new RuleEntryParams(commandId, arguments);
-                return search(params.getProjectName(), params.getIncludedPaths(), params.getQuery(),
+                ResultCollector results = search(params.getProjectName(), params.getIncludedPaths(), params.getQuery(),
                         params.getAnnotationQuery(), params.getLocation(), params.getAnalysisMode(),
                         params.getIncludeOpenSourceLibraries(), params.getMavenLocalRepoPath(),
-                        params.getMavenIndexPath(), progress);
+                        params.getMavenIndexPath(), params.isTransitive(), params.getResultMode(), params.getContextLines(), progress);
+                if (params.getResultMode() != ResultMode.FULL) {
+                    return SymbolCountResult.of(params.getResultMode(), results);
+                }
+                // search always collects into a ResultBuffer
+                ResultBuffer buffer = (ResultBuffer) results.getSymbols();
+                if (params.isPaginated()) {
+                    // the rest of the symbols is fetched with RULE_ENTRY_PAGE_COMMAND_ID, the store owns the buffer
+                    return ResultCursorStore.getInstance().firstPage(buffer, params.getPageSize(), params.isCompactResult());
+                }
+                if (params.isCompactResult()) {
+                    CompactSymbolResult compact = CompactSymbolResult.of(buffer);
+                    buffer.close();
+                    return compact;
+                }
+                return buffer.release();
+            case RULE_ENTRY_PAGE_COMMAND_ID:
+                RuleEntryPageParams pageParams = new RuleEntryPageParams(commandId, arguments);
+                return ResultCursorStore.getInstance().nextPage(pageParams.getCursor(), pageParams.getPageSize());
+            case CLASS_FILE_CONTENTS_COMMAND_ID:
+                ClassFileContentParams contentParams = new ClassFileContentParams(commandId, arguments);
+                return ClassFileContentProvider.getInstance().getContents(contentParams.getUris(), contentParams.getRanges(),
+                        contentParams.getContextLines(), progress);
             default:
                 throw new UnsupportedOperationException(format("Unsupported command '%s'!", commandId));
         }
     }
 
     private static void waitForJavaSourceDownloads() {
-        JobHelpers.waitForInitializeJobs();
-        JobHelpers.waitForBuildJobs(JobHelpers.MAX_TIME_MILLIS);
+        waitForProjects();
         JobHelpers.waitForDownloadSourcesJobs(JobHelpers.MAX_TIME_MILLIS);
 
     }
 
+    // the projects and their classpath are only there once the import and the build are done
+    private static void waitForProjects() {
+        JobHelpers.waitForInitializeJobs();
+        JobHelpers.waitForBuildJobs(JobHelpers.MAX_TIME_MILLIS);
+    }
+
     // mapLocationToSearchPatternLocation will create the correct search pattern or throw an error if one can not be built.
     // the search patterns are responsible for finding as many locations/symbols as possible. We will relay on the client
     // to filter.
     private static SearchPattern mapLocationToSearchPatternLocation(int location, String query) throws Exception {
         //TODO: #21 Normalize queries and/or verify for each location.
 
-        Pattern orPattern = Pattern.compile(".*\\(.*\\|.*\\).*");
-        if (orPattern.matcher(query).matches()) {
-            // We know that this is a list of things to loook for, broken by a | command. We should get this intra string and create an OR search pattern for each one. 
-            // ex java.io.((FileWriter|FileReader|PrintStream|File|PrintWriter|RandomAccessFile))*
-            // startQuery will contain java.io. and endQuery will contain *
-            var startListIndex = query.indexOf("(");
-            var endListIndex = query.indexOf(")");
-            var startQuery = query.substring(0, startListIndex);
-            var endQuery = query.substring(endListIndex + 1, query.length());
-            var optionalList = endQuery.startsWith("?");
-
-            // This should strip the ( ) chars
-            var listString = query.substring(startListIndex + 1, endListIndex);
-            var list = listString.split("\\|");
+        // We know that this is a list of things to look for when the query has alternation groups. We
+        // expand every group (nested and multiple ones too) and create an OR search pattern for each one.
+        // ex java.io.((FileWriter|FileReader|PrintStream|File|PrintWriter|RandomAccessFile))*
+        List<String> alternatives = AlternationMatcher.expand(query);
+        if (alternatives.size() > 1) {
             ArrayList<SearchPattern> l = new ArrayList<SearchPattern>();
-
-            if (optionalList) {
-                // remove the ? from the endQueryString
-                endQuery = endQuery.substring(1, endQuery.length());
-                l.add(mapLocationToSearchPatternLocation(location, startQuery + endQuery));
-            }
-
-            for (String s : list) {
-                var p = mapLocationToSearchPatternLocation(location, startQuery + s + endQuery);
+            for (String s : alternatives) {
+                var p = mapLocationToSearchPatternLocation(location, s);
                 l.add(p);
             }
 
             // Get the end pattern
             SearchPattern p = l.subList(1, l.size()).stream().reduce(l.get(0), (SearchPattern::createOrPattern));
             return p;
-
         }
 
         if (location == 0) {
@@ -218,6 +256,37 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
 
     protected static List<SymbolInformation> search(String projectName, ArrayList<String> includedPaths, String query, AnnotationQuery annotationQuery, int location, String analysisMode,
                                                   boolean includeOpenSourceLibraries, String mavenLocalRepoPath, String mavenIndexPath, IProgressMonitor monitor) throws Exception {
+        return search(projectName, includedPaths, query, annotationQuery, location, analysisMode, includeOpenSourceLibraries,
+                mavenLocalRepoPath, mavenIndexPath, false, monitor);
+    }
+
+    protected static List<SymbolInformation> search(String projectName, ArrayList<String> includedPaths, String query, AnnotationQuery annotationQuery, int location, String analysisMode,
+                                                  boolean includeOpenSourceLibraries, String mavenLocalRepoPath, String mavenIndexPath, boolean transitive,
+                                                  IProgressMonitor monitor) throws Exception {
+        ResultCollector results = search(projectName, includedPaths, query, annotationQuery, location, analysisMode, includeOpenSourceLibraries,
+                mavenLocalRepoPath, mavenIndexPath, transitive, ResultMode.FULL, 0, monitor);
+        return ((ResultBuffer) results.getSymbols()).release();
+    }
+
+    protected static ResultCollector search(String projectName, ArrayList<String> includedPaths, String query, AnnotationQuery annotationQuery, int location, String analysisMode,
+                                            boolean includeOpenSourceLibraries, String mavenLocalRepoPath, String mavenIndexPath, boolean transitive,
+                                            ResultMode resultMode, int contextLines, IProgressMonitor monitor) throws Exception {
+        ResultBuffer buffer = new ResultBuffer();
+        try {
+            return search(buffer, projectName, includedPaths, query, annotationQuery, location, analysisMode, includeOpenSourceLibraries,
+                    mavenLocalRepoPath, mavenIndexPath, transitive, resultMode, contextLines, monitor);
+        } catch (Throwable e) {
+            // the caller only gets to release the buffer of a completed search
+            buffer.close();
+            throw e;
+        }
+    }
+
+    private static ResultCollector search(ResultBuffer buffer, String projectName, ArrayList<String> includedPaths, String query, AnnotationQuery annotationQuery,
+                                          int location, String analysisMode, boolean includeOpenSourceLibraries, String mavenLocalRepoPath, String mavenIndexPath,
+                                          boolean transitive, ResultMode resultMode, int contextLines, IProgressMonitor monitor) throws Exception {
+        // symbols are only kept for full results, the other modes count them
+        ResultCollector results = new ResultCollector(buffer, resultMode, contextLines > 0 ? new SnippetReader(contextLines) : null);
         IJavaProject[] targetProjects;
         IJavaProject project = ProjectUtils.getJavaProject(projectName);
         if (project != null) {
@@ -230,14 +299,27 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
 
         //  For Partial results, we are going to filter out based on a list in the engine
         int s = IJavaSearchScope.SOURCES | IJavaSearchScope.REFERENCED_PROJECTS | IJavaSearchScope.APPLICATION_LIBRARIES;
+        boolean pipelined = false;
         if (analysisMode.equals(sourceOnlyAnalysisMode)) {
             logInfo("KONVEYOR_LOG: source-only analysis mode only scoping to Sources");
             s = IJavaSearchScope.SOURCES;
+        } else if (analysisMode.equals(pipelinedAnalysisMode)) {
+            // Sources (ours and the ones of referenced projects) do not depend on the downloads,
+            // the application libraries are searched in a second pass below.
+            logInfo("KONVEYOR_LOG: pipelined analysis mode, searching sources before waiting for source downloads");
+            waitForProjects();
+            s = IJavaSearchScope.SOURCES | IJavaSearchScope.REFERENCED_PROJECTS;
+            pipelined = true;
         } else {
             logInfo("KONVEYOR_LOG: waiting for source downloads");
             waitForJavaSourceDownloads();
             logInfo("KONVEYOR_LOG: waited for source downloads");
         }
+        if (!analysisMode.equals(sourceOnlyAnalysisMode)) {
+            // the libraries without sources are decompiled in the background, ready for their contents to be asked for
+            DecompiledSourceCache.getInstance().schedule(targetProjects,
+                    includeOpenSourceLibraries ? null : OpenSourceLibraryExclusionManager.getInstance(mavenLocalRepoPath, mavenIndexPath));
+        }
 
         for (IJavaProject iJavaProject : targetProjects) {
             var errors = ResourceUtils.getErrorMarkers(iJavaProject.getProject());
@@ -251,7 +333,7 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
         var workspaceDirectoryLocation = JavaLanguageServerPlugin.getPreferencesManager().getPreferences().getRootPaths();
         if (workspaceDirectoryLocation == null || workspaceDirectoryLocation.size() == 0) {
             logInfo("unable to find workspace directory location");
-            return new ArrayList<>();
+            return results;
         }
 
         List<ICompilationUnit> units = new ArrayList<>();
@@ -346,7 +428,20 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
         }
         logInfo("scope: " + scope);
 
-        List<SymbolInformation> symbols = new ArrayList<SymbolInformation>();
+        // Annotated queries only ever match source members, when fewer compilation units hold a
+        // matching annotation than there are in scope we start from the annotation side and
+        // only search those units.
+        boolean annotationPlanned = false;
+        if (annotationQuery != null && annotationQuery.getType() != null && ANNOTATED_LOCATIONS.contains(location)) {
+            List<ICompilationUnit> sourceUnits = getSourceUnits(targetProjects, scope);
+            List<ICompilationUnit> annotatedUnits = AnnotationIndex.getInstance().findAnnotatedUnits(annotationQuery, sourceUnits);
+            logInfo("KONVEYOR_LOG: " + annotatedUnits.size() + " of " + sourceUnits.size() +
+                    " compilation units hold an annotation matching " + annotationQuery.getType());
+            if (annotatedUnits.size() < sourceUnits.size()) {
+                scope = SearchEngine.createJavaSearchScope(annotatedUnits.toArray(new IJavaElement[annotatedUnits.size()]), IJavaSearchScope.SOURCES);
+                annotationPlanned = true;
+            }
+        }
 
         SearchPattern pattern;
         try {
@@ -356,26 +451,80 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
             logInfo("KONVEYOR_LOG: Unable to get search pattern: " + e.toString().replace("\n", " "));
             throw e;
         }
+        if (location == 6) {
+            // only the enum constants matching the query are searched for, instead of every field
+            IJavaSearchScope enumScope = scope;
+            if (pipelined) {
+                // the application libraries are searched later, their constants have to be in the pattern too
+                enumScope = SearchEngine.createJavaSearchScope(true, targetProjects, s | IJavaSearchScope.APPLICATION_LIBRARIES);
+                if (!includeOpenSourceLibraries) {
+                    enumScope = new OpenSourceFilteredSearchScope(enumScope,
+                            OpenSourceLibraryExclusionManager.getInstance(mavenLocalRepoPath, mavenIndexPath));
+                }
+            }
+            List<IField> constants = findEnumConstants(RuleQuery.compile(query), enumScope, monitor);
+            if (constants != null && constants.isEmpty()) {
+                logInfo("KONVEYOR_LOG: no enum constant matches " + query);
+                return results;
+            }
+            if (constants != null) {
+                pattern = createEnumConstantPattern(constants);
+            }
+        }
         logInfo("KONVEYOR_LOG: pattern: " + pattern.toString().replace("\n", " "));
 
         SearchEngine searchEngine = new SearchEngine();
 
-        SymbolInformationTypeRequestor requestor = new SymbolInformationTypeRequestor(symbols, 0, monitor, location, query, annotationQuery, pattern);
+        SymbolInformationTypeRequestor requestor = new SymbolInformationTypeRequestor(results, 0, monitor, location, query, annotationQuery, pattern);
 
         //Use the default search participents
         SearchParticipant participent = new JavaSearchParticipant();
         SearchParticipant[] participents = new SearchParticipant[]{participent};
 
-        try {
-            searchEngine.search(pattern, participents, scope, requestor, monitor);
-        } catch (Exception e) {
-            // TODO: handle exception
-            logInfo("KONVEYOR_LOG: unable to get search " + e.toString().replace("\n", " "));
+        // Some locations are answered for the sources from a workspace index, only the
+        // libraries are left to the search engine
+        List<SearchMatch> indexedMatches = null;
+        if (transitive && HIERARCHY_LOCATIONS.contains(location)) {
+            // subtypes declared in source are found by walking down the workspace type hierarchy,
+            // through any number of intermediate types, instead of the direct IMPLEMENTORS search
+            indexedMatches = new ArrayList<>();
+            for (IType type : TypeHierarchyIndex.getInstance().findSubtypes(RuleQuery.compile(query), getSourceUnits(targetProjects, scope))) {
+                indexedMatches.add(TypeHierarchyIndex.toSearchMatch(type, participent));
+            }
+        } else if (location == 7) {
+            // method declarations are enumerated by return type, instead of going through every
+            // reference of the type
+            indexedMatches = new ArrayList<>();
+            for (IMethod method : ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile(query), getSourceUnits(targetProjects, scope))) {
+                indexedMatches.add(ReturnTypeIndex.toSearchMatch(method, participent));
+            }
+        } else if (location == 11) {
+            // imports and fully qualified names are looked up by package name
+            indexedMatches = new ArrayList<>();
+            for (PackageOccurrence occurrence : PackageReferenceIndex.getInstance().findOccurrences(RuleQuery.compile(query), getSourceUnits(targetProjects, scope))) {
+                indexedMatches.add(PackageReferenceIndex.toSearchMatch(occurrence, participent));
+            }
+        }
+
+        if (indexedMatches != null) {
+            for (SearchMatch match : indexedMatches) {
+                if (requestor.isLimitReached()) {
+                    break;
+                }
+                requestor.acceptSearchMatch(match);
+            }
+            if (!requestor.isLimitReached() && !pipelined && !annotationPlanned && !analysisMode.equals(sourceOnlyAnalysisMode) && (includedPaths == null || includedPaths.isEmpty())) {
+                // library matches still come from the search engine
+                executeSearch(searchEngine, pattern, participents, getLibraryScope(targetProjects, includeOpenSourceLibraries,
+                        mavenLocalRepoPath, mavenIndexPath), requestor, monitor);
+            }
+        } else {
+            executeSearch(searchEngine, pattern, participents, scope, requestor, monitor);
         }
 
         // For on-demand imports (things like <code>import javax.ejb.*;</code>) we need to
         // do a special search, since on-demand imports are only resolved at compilation time
-        if (location == 8) {
+        if (location == 8 && !requestor.isLimitReached()) {
             Matcher matcher = Pattern.compile("[^A-Z*]+\\*").matcher(query);
             if (matcher.matches()) {
                 // Get all compilation units in scope
@@ -393,22 +542,21 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
 
                 // Now run ImportScanner only on units in scope
                 ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-                // when creating the regex, replace * with .*
-                Pattern regex = Pattern.compile(query.replaceAll("(?<!\\.)\\*", ".*"));
+                RuleQuery ruleQuery = RuleQuery.compile(query);
                 for (ICompilationUnit unit : units) {
                     parser.setSource(unit);
                     CompilationUnit cu = (CompilationUnit) parser.createAST(null);
                     for (Object o : cu.imports()) {
                         ImportDeclaration imp = (ImportDeclaration) o;
                         if (imp.isOnDemand()) {
-                            if (regex.matcher(imp.getName().getFullyQualifiedName()).matches()) {
+                            if (ruleQuery.matchesFqn(imp.getName().getFullyQualifiedName())) {
                                 SymbolInformation symbol = new SymbolInformation();
                                 symbol.setName(imp.getName().getFullyQualifiedName());
                                 symbol.setKind(SymbolKind.Module);
                                 symbol.setContainerName(unit.getElementName());
                                 symbol.setLocation(getLocationForImport(unit, imp, cu));
-                                System.out.println("Found in " + unit.getElementName());
-                                symbols.add(symbol);
+                                debugTrace("KONVEYOR_LOG: on-demand import found in " + unit.getElementName());
+                                requestor.addSymbol(symbol, unit);
                             }
                         }
                     }
@@ -416,21 +564,133 @@ public class SampleDelegateCommandHandler implements IDelegateCommandHandler {
             }
         }
 
+        if (pipelined && requestor.isLimitReached()) {
+            logInfo("KONVEYOR_LOG: result limit reached in sources, skipping application libraries search");
+        } else if (pipelined && annotationPlanned) {
+            logInfo("KONVEYOR_LOG: search restricted to annotated compilation units, skipping application libraries search");
+        } else if (pipelined) {
+            logInfo("KONVEYOR_LOG: sources searched, found " + results.getCount() + " symbols, waiting for source downloads");
+            JobHelpers.waitForDownloadSourcesJobs(JobHelpers.MAX_TIME_MILLIS);
+            logInfo("KONVEYOR_LOG: waited for source downloads");
+            if (includedPaths != null && includedPaths.size() > 0) {
+                // the included paths scope is made of source fragments only, nothing left to search
+                logInfo("KONVEYOR_LOG: included paths are set, skipping application libraries search");
+            } else {
+                IJavaSearchScope libraryScope = getLibraryScope(targetProjects, includeOpenSourceLibraries,
+                        mavenLocalRepoPath, mavenIndexPath);
+                // same requestor, so the library matches end up in the same result set
+                executeSearch(searchEngine, pattern, participents, libraryScope, requestor, monitor);
+            }
+        }
+
         logInfo("KONVEYOR_LOG: Got: " + requestor.getAllSearchMatches() +
                 " Number of search matching the query: \"" + query + "\"" +
                 " and location type: " + location);
 
-        logInfo("KONVEYOR_LOG: Results size: " + requestor.getSymbols().size());
+        logInfo("KONVEYOR_LOG: Results size: " + results.getCount() +
+                " (" + requestor.getDuplicateSymbols() + " duplicates dropped)");
+
+        // reading spilled symbols back only to trace them would defeat the buffer
+        if (!buffer.isSpilled()) {
+            String result = requestor.getSymbols().stream()
+              .map(si -> 
+                String.format("\n-------------------------\nSymbol name: %s\nkind: %s\nLocation: %s",si.getName(), si.getKind(), si.getLocation())
+              )
+              .collect(Collectors.joining()); 
+            debugTrace("KONVEYOR_DEBUG: " + result);
+        }
+
+        return results;
 
-        String result = requestor.getSymbols().stream()
-          .map(si -> 
-            String.format("\n-------------------------\nSymbol name: %s\nkind: %s\nLocation: %s",si.getName(), si.getKind(), si.getLocation())
-          )
-          .collect(Collectors.joining()); 
-        debugTrace("KONVEYOR_DEBUG: " + result);
+    }
 
-        return symbols;
+    /*
+     * The enum constants, declared in the scope, matching the query. Enum types are looked up by
+     * name in the indexes and only the ones that may declare a matching constant are opened.
+     * Returns null when there are too many constants for an exact pattern or the lookup failed.
+     */
+    private static List<IField> findEnumConstants(RuleQuery query, IJavaSearchScope scope, IProgressMonitor monitor) {
+        List<IType> enumTypes = new ArrayList<>();
+        try {
+            new SearchEngine().searchAllTypeNames(null, SearchPattern.R_PATTERN_MATCH, null, SearchPattern.R_PATTERN_MATCH,
+                    IJavaSearchConstants.ENUM, scope, new TypeNameMatchRequestor() {
+                        @Override
+                        public void acceptTypeNameMatch(TypeNameMatch match) {
+                            if (query.matchesDeclaringType(match.getFullyQualifiedName())) {
+                                enumTypes.add(match.getType());
+                            }
+                        }
+                    }, IJavaSearchConstants.WAIT_UNTIL_READY_TO_SEARCH, monitor);
+            List<IField> constants = new ArrayList<>();
+            for (IType enumType : enumTypes) {
+                for (IField field : enumType.getFields()) {
+                    if (field.isEnumConstant() && query.matchesFqn(enumType.getFullyQualifiedName('.') + "." + field.getElementName())) {
+                        constants.add(field);
+                        // a single enum may hold thousands of constants, stop as soon as the limit is crossed
+                        if (constants.size() > MAX_ENUM_CONSTANT_PATTERNS) {
+                            logInfo("KONVEYOR_LOG: more than " + MAX_ENUM_CONSTANT_PATTERNS + " enum constants match " + query.getQuery());
+                            return null;
+                        }
+                    }
+                }
+            }
+            logInfo("KONVEYOR_LOG: " + constants.size() + " enum constants of " + enumTypes.size() + " enum types match " + query.getQuery());
+            return constants;
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to look up enum constants " + e.toString().replace("\n", " "));
+            return null;
+        }
+    }
 
+    private static SearchPattern createEnumConstantPattern(List<IField> constants) {
+        SearchPattern pattern = null;
+        for (IField constant : constants) {
+            SearchPattern constantPattern = SearchPattern.createPattern(constant, IJavaSearchConstants.ALL_OCCURRENCES);
+            pattern = pattern == null ? constantPattern : SearchPattern.createOrPattern(pattern, constantPattern);
+        }
+        return pattern;
+    }
+
+    private static IJavaSearchScope getLibraryScope(IJavaProject[] targetProjects, boolean includeOpenSourceLibraries,
+                                                    String mavenLocalRepoPath, String mavenIndexPath) {
+        IJavaSearchScope libraryScope = SearchEngine.createJavaSearchScope(true, targetProjects,
+                IJavaSearchScope.REFERENCED_PROJECTS | IJavaSearchScope.APPLICATION_LIBRARIES);
+        if (!includeOpenSourceLibraries) {
+            libraryScope = new OpenSourceFilteredSearchScope(libraryScope,
+                    OpenSourceLibraryExclusionManager.getInstance(mavenLocalRepoPath, mavenIndexPath));
+        }
+        logInfo("library scope: " + libraryScope);
+        return libraryScope;
+    }
+
+    private static List<ICompilationUnit> getSourceUnits(IJavaProject[] targetProjects, IJavaSearchScope scope) throws Exception {
+        List<ICompilationUnit> units = new ArrayList<>();
+        for (IJavaProject p : targetProjects) {
+            for (IPackageFragment pkg : p.getPackageFragments()) {
+                if (pkg.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                    for (ICompilationUnit unit : pkg.getCompilationUnits()) {
+                        if (scope.encloses(unit)) {
+                            units.add(unit);
+                        }
+                    }
+                }
+            }
+        }
+        return units;
+    }
+
+    private static void executeSearch(SearchEngine searchEngine, SearchPattern pattern, SearchParticipant[] participents,
+                                      IJavaSearchScope scope, SymbolInformationTypeRequestor requestor, IProgressMonitor monitor) {
+        try {
+            searchEngine.search(pattern, participents, scope, requestor, monitor);
+        } catch (OperationCanceledException e) {
+            // the requestor cancels the search once it has enough results (the first one for exists)
+            logInfo("KONVEYOR_LOG: search stopped, " + (requestor.isLimitReached() ? "result limit reached" : "cancelled"));
+        } catch (Exception e) {
+            logException("KONVEYOR_LOG: unable to get search " + e.toString().replace("\n", " "), e);
+        }
+        // source matches needing their bindings checked are resolved together once the scope is searched
+        requestor.verifyPendingMatches();
     }
 
     public static Location getLocationForImport(ICompilationUnit icu, ImportDeclaration imp, CompilationUnit cuAst) {
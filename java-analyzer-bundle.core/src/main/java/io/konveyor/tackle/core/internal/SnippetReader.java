@@ -0,0 +1,92 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.IClassFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.SymbolInformation;
+
+import io.konveyor.tackle.core.internal.symbol.SymbolProvider;
+
+/**
+ * Attaches the lines around their location to the symbols of a search, so clients do not read
+ * every file (or class file URI) again to show the incidents.
+ *
+ * Lines are cut from the buffer of the unit or class file the match came from, which the search
+ * just had open, through a line table kept for the few files most recently used: matches arrive
+ * grouped by file. When the symbol is located in another file than the one given, its file URI
+ * is resolved instead.
+ */
+public class SnippetReader {
+
+    private static final int MAX_CACHED_FILES = 16;
+
+    private final int contextLines;
+    // location uri -> line table, null when the file has no source
+    private final Map<String, LineTable> lineTables = new LinkedHashMap<>(MAX_CACHED_FILES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, LineTable> eldest) {
+            return size() > MAX_CACHED_FILES;
+        }
+    };
+
+    public SnippetReader(int contextLines) {
+        this.contextLines = contextLines;
+    }
+
+    /**
+     * Returns the symbol with its snippet, or the symbol itself when there is no source for it.
+     */
+    public synchronized SymbolInformation attach(SymbolInformation symbol, IOpenable openable) {
+        Location location = symbol.getLocation();
+        if (location == null || location.getUri() == null || location.getRange() == null) {
+            return symbol;
+        }
+        LineTable lines;
+        if (lineTables.containsKey(location.getUri())) {
+            lines = lineTables.get(location.getUri());
+        } else {
+            lines = read(location.getUri(), openable);
+            lineTables.put(location.getUri(), lines);
+        }
+        if (lines == null) {
+            return symbol;
+        }
+        int line = location.getRange().getStart().getLine();
+        int first = Math.max(line - contextLines, 0);
+        return new SnippetSymbolInformation(symbol, lines.getLines(first, line + contextLines), first);
+    }
+
+    private static LineTable read(String uri, IOpenable openable) {
+        try {
+            IOpenable source = null;
+            if (openable instanceof IClassFile && !uri.startsWith("file:")) {
+                // konveyor-jdt URIs are only built for class files
+                source = openable;
+            } else if (openable instanceof ICompilationUnit && uri.equals(JDTUtils.toUri((ICompilationUnit) openable))) {
+                source = openable;
+            } else if (uri.startsWith("file:")) {
+                source = JDTUtils.resolveCompilationUnit(uri);
+            }
+            if (source == null) {
+                return null;
+            }
+            String contents;
+            synchronized (SymbolProvider.LOCATION_LOCK) {
+                IBuffer buffer = source.getBuffer();
+                contents = buffer != null ? buffer.getContents() : null;
+            }
+            return contents != null ? LineTable.of(contents) : null;
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to read the lines of " + uri + ": " + e);
+            return null;
+        }
+    }
+}
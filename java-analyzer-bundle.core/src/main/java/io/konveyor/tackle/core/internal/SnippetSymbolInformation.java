@@ -0,0 +1,32 @@
+package io.konveyor.tackle.core.internal;
+
+import org.eclipse.lsp4j.SymbolInformation;
+
+/**
+ * A symbol with the source lines around its location, returned when the rule entry asks for
+ * <code>"contextLines"</code>. The snippet holds the lines from snippetStartLine (0 based like
+ * the range of the location) joined by '\n'.
+ */
+public class SnippetSymbolInformation extends SymbolInformation {
+
+    private String snippet;
+    private int snippetStartLine;
+
+    public SnippetSymbolInformation(SymbolInformation symbol, String snippet, int snippetStartLine) {
+        setName(symbol.getName());
+        setKind(symbol.getKind());
+        setTags(symbol.getTags());
+        setContainerName(symbol.getContainerName());
+        setLocation(symbol.getLocation());
+        this.snippet = snippet;
+        this.snippetStartLine = snippetStartLine;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public int getSnippetStartLine() {
+        return snippetStartLine;
+    }
+}
@@ -0,0 +1,48 @@
+package io.konveyor.tackle.core.internal;
+
+import java.util.Map;
+
+/**
+ * The result of a rule entry asking for <code>"resultMode": "exists"</code>, <code>"count"</code>
+ * or <code>"countByFile"</code>. Matches are verified like for full results but never turned into
+ * symbols, the number of matches per file (by URI) is only set for countByFile. Unlike full
+ * results, counts are not capped at the maximum number of results of a search.
+ */
+public class SymbolCountResult {
+
+    private final String mode;
+    private final boolean exists;
+    private final int count;
+    private final Map<String, Integer> countsByFile;
+
+    private SymbolCountResult(String mode, int count, Map<String, Integer> countsByFile) {
+        this.mode = mode;
+        this.exists = count > 0;
+        this.count = count;
+        this.countsByFile = countsByFile;
+    }
+
+    public static SymbolCountResult of(ResultMode mode, ResultCollector results) {
+        return new SymbolCountResult(mode.getName(), results.getCount(),
+                mode == ResultMode.COUNT_BY_FILE ? results.getCountsByFile() : null);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isExists() {
+        return exists;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * URI -> number of matches in the file, null unless counting by file.
+     */
+    public Map<String, Integer> getCountsByFile() {
+        return countsByFile;
+    }
+}
@@ -10,6 +10,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IOpenable;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.core.search.SearchPattern;
 import org.eclipse.jdt.core.search.SearchRequestor;
@@ -17,14 +18,21 @@ import org.eclipse.jdt.ls.core.internal.ResourceUtils;
 import org.eclipse.lsp4j.SymbolInformation;
 
 import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+import io.konveyor.tackle.core.internal.symbol.BatchedASTVerifier;
+import io.konveyor.tackle.core.internal.symbol.MatchRecord;
+import io.konveyor.tackle.core.internal.symbol.SearchContext;
 import io.konveyor.tackle.core.internal.symbol.SymbolProvider;
 import io.konveyor.tackle.core.internal.symbol.SymbolProviderResolver;
-import io.konveyor.tackle.core.internal.symbol.WithAnnotationQuery;
-import io.konveyor.tackle.core.internal.symbol.WithMaxResults;
-import io.konveyor.tackle.core.internal.symbol.WithQuery;
+import io.konveyor.tackle.core.internal.symbol.TypeHierarchyCache;
 
 public class SymbolInformationTypeRequestor extends SearchRequestor {
+    // results of a search when no maximum is given
+    static final int DEFAULT_MAX_RESULTS = 10000;
+
     private List<SymbolInformation> symbols;
+    // adds to symbols, skipping the ones reported already
+    private ResultCollector resultCollector;
     private int maxResults;
     private int numberSearchMatches;
     private boolean sourceOnly;
@@ -32,31 +40,50 @@ public class SymbolInformationTypeRequestor extends SearchRequestor {
     private IProgressMonitor monitor;
     private int symbolKind;
     private String query;
-    private AnnotationQuery annotationQuery;
-    private SymbolProviderResolver resolver;
+    private SymbolProvider symbolProvider;
+    // source matches waiting for their bindings to be checked
+    private BatchedASTVerifier batchedASTVerifier;
+    // everything the (shared) symbol provider needs to know about this search
+    private SearchContext searchContext;
 
 
     public SymbolInformationTypeRequestor(List<SymbolInformation> symbols, int maxResults, IProgressMonitor monitor, int symbolKind, String query, AnnotationQuery annotationQuery, SearchPattern searchPattern) {
-        this.symbols = symbols;
+        this(new ResultCollector(symbols), maxResults, monitor, symbolKind, query, annotationQuery, searchPattern);
+    }
+
+    public SymbolInformationTypeRequestor(ResultCollector resultCollector, int maxResults, IProgressMonitor monitor, int symbolKind, String query, AnnotationQuery annotationQuery, SearchPattern searchPattern) {
+        this.symbols = resultCollector.getSymbols();
+        this.resultCollector = resultCollector;
         this.maxResults = maxResults;
         this.monitor = monitor;
         this.symbolKind = symbolKind;
         this.query = query;
         this.numberSearchMatches = 0;
-        this.annotationQuery = annotationQuery;
-        if (maxResults == 0) {
-            this.maxResults = 10000;
+        // counting keeps no symbols, counts are only capped when a maximum is given
+        if (maxResults == 0 && resultCollector.getMode() == ResultMode.FULL) {
+            this.maxResults = DEFAULT_MAX_RESULTS;
+        }
+        symbolProvider = SymbolProviderResolver.resolve(symbolKind);
+        // supertype closures are shared by all the matches of this search
+        TypeHierarchyCache typeHierarchyCache = new TypeHierarchyCache();
+        batchedASTVerifier = new BatchedASTVerifier(typeHierarchyCache);
+        BatchedASTVerifier verifier = batchedASTVerifier;
+        if (resultCollector.getMode() == ResultMode.EXISTS) {
+            // the first confirmed match ends the search, so matches are verified on the spot
+            this.maxResults = 1;
+            verifier = null;
         }
-        resolver = new SymbolProviderResolver();
+        searchContext = new SearchContext(RuleQuery.compile(query), annotationQuery, this.maxResults, typeHierarchyCache, verifier,
+                resultCollector::add);
     }
 
 
     @Override
     public void acceptSearchMatch(SearchMatch match) throws CoreException {
         this.numberSearchMatches = this.numberSearchMatches + 1;
-        if (maxResults > 0 && symbols.size() >= maxResults) {
+        if (isLimitReached()) {
             monitor.setCanceled(true);
-            logInfo("maxResults > 0 && symbols.size() >= maxResults");
+            logInfo("maxResults > 0 && results >= maxResults");
             return;
         }
 
@@ -74,20 +101,49 @@ public class SymbolInformationTypeRequestor extends SearchRequestor {
 
         }
 
-        SymbolProvider symbolProvider = resolver.resolve(this.symbolKind).get();
-        if (symbolProvider instanceof WithQuery) {
-            ((WithQuery) symbolProvider).setQuery(this.query);
+        logInfo("getting match: " + match + "with provider: " + symbolProvider + " for query: " + this.query);
+        List<SymbolInformation> symbols = Optional.ofNullable(symbolProvider.get(match, searchContext)).orElse(new ArrayList<>());
+        IOpenable openable = match.getElement() instanceof IJavaElement ? ((IJavaElement) match.getElement()).getOpenable() : null;
+        for (SymbolInformation symbol : symbols) {
+            resultCollector.add(symbol, openable);
         }
-        if (symbolProvider instanceof WithAnnotationQuery) {
-            ((WithAnnotationQuery) symbolProvider).setAnnotationQuery(this.annotationQuery);
+    }
+
+    /**
+     * Adds a symbol found outside of the search engine to the results.
+     */
+    public void addSymbol(SymbolInformation symbol, IOpenable openable) {
+        resultCollector.add(symbol, openable);
+    }
+
+    /**
+     * Checks the bindings of the source matches deferred during the search, has to be
+     * called once the search engine is done with a scope.
+     */
+    public void verifyPendingMatches() {
+        if (batchedASTVerifier.isEmpty()) {
+            return;
         }
-        if (symbolProvider instanceof WithMaxResults) {
-            ((WithMaxResults) symbolProvider).setMaxResultes(this.maxResults);
+        List<MatchRecord> verified = batchedASTVerifier.verify(monitor);
+        logInfo("KONVEYOR_LOG: " + verified.size() + " deferred matches verified");
+        for (MatchRecord record : verified) {
+            if (isLimitReached()) {
+                break;
+            }
+            try {
+                resultCollector.add(record);
+            } catch (Exception e) {
+                logInfo("KONVEYOR_LOG: unable to locate verified match " + record.getMatch() + ": " + e);
+            }
         }
+    }
 
-        logInfo("getting match: " + match + "with provider: " + symbolProvider + " for query: " + this.query);
-        List<SymbolInformation> symbols = Optional.ofNullable(symbolProvider.get(match)).orElse(new ArrayList<>());
-        this.symbols.addAll(symbols);
+    /**
+     * Whether the search can stop, the maximum number of results is reached (the first one for
+     * an exists query).
+     */
+    public boolean isLimitReached() {
+        return maxResults > 0 && resultCollector.getCount() >= maxResults;
     }
 
     public List<SymbolInformation> getSymbols() {
@@ -98,6 +154,10 @@ public class SymbolInformationTypeRequestor extends SearchRequestor {
         return this.numberSearchMatches;
     }
 
+    public int getDuplicateSymbols() {
+        return resultCollector.getDuplicates();
+    }
+
     // This will determine if there are error markers for the primary element that is associated with this
     // element. This then will tell us if there is a reason that some results may be inaccurrate. 
     // TODO: We still need for each provider, to actually determine if it is a match when 
@@ -0,0 +1,135 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.IAnnotatable;
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMemberValuePair;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.JavaModelException;
+
+import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+
+/**
+ * Maps annotation FQNs to the compilation units holding source members annotated with them.
+ *
+ * Annotated queries (<code>annotated</code> on field, method_declaration, class_declaration,
+ * implements_type and type locations) only ever match source members, so the compilation units
+ * holding a matching annotation are the only ones the search has to look at. The index lets the
+ * search start from the annotation side, instead of finding every candidate element and checking
+ * its annotations afterwards. Only the names of the annotations are kept, the elements and
+ * member values are checked by the providers on the matches of the narrowed search.
+ *
+ * The index is built per compilation unit from the java model (no AST).
+ */
+public class AnnotationIndex extends CompilationUnitIndex<Set<String>> {
+
+    private static final AnnotationIndex INSTANCE = new AnnotationIndex();
+
+    // annotation FQN -> handle identifiers of the compilation units holding it
+    private final Map<String, Set<String>> unitsByAnnotation = new ConcurrentHashMap<>();
+
+    public static AnnotationIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the units, out of the given ones, holding at least an annotation that matches the query.
+     */
+    public List<ICompilationUnit> findAnnotatedUnits(AnnotationQuery query, Collection<ICompilationUnit> candidates) {
+        index(candidates);
+        Set<String> keys = new HashSet<>();
+        for (Map.Entry<String, Set<String>> entry : unitsByAnnotation.entrySet()) {
+            if (query.matchesAnnotation(entry.getKey())) {
+                keys.addAll(entry.getValue());
+            }
+        }
+        List<ICompilationUnit> annotated = new ArrayList<>();
+        for (ICompilationUnit unit : candidates) {
+            if (keys.contains(unit.getHandleIdentifier())) {
+                annotated.add(unit);
+            }
+        }
+        return annotated;
+    }
+
+    @Override
+    protected void addUnit(String key, Set<String> annotationNames) {
+        for (String annotationName : annotationNames) {
+            unitsByAnnotation.computeIfAbsent(annotationName, n -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    @Override
+    protected void removeUnit(String key, Set<String> annotationNames) {
+        for (String annotationName : annotationNames) {
+            Set<String> annotatedUnits = unitsByAnnotation.get(annotationName);
+            if (annotatedUnits != null) {
+                annotatedUnits.remove(key);
+                if (annotatedUnits.isEmpty()) {
+                    unitsByAnnotation.remove(annotationName, annotatedUnits);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected Set<String> collect(ICompilationUnit unit) {
+        Set<String> annotationNames = new HashSet<>();
+        try {
+            collect(unit, ImportTable.of(unit), annotationNames);
+        } catch (JavaModelException e) {
+            logInfo("KONVEYOR_LOG: unable to index annotations of " + unit.getElementName() + ": " + e);
+        }
+        return annotationNames;
+    }
+
+    // walks the children rather than the member types so local and anonymous types are indexed too
+    private static void collect(IParent parent, ImportTable imports, Set<String> annotationNames) throws JavaModelException {
+        for (IJavaElement child : parent.getChildren()) {
+            if (child instanceof IMember && child instanceof IAnnotatable) {
+                for (IAnnotation annotation : ((IAnnotatable) child).getAnnotations()) {
+                    annotationNames.addAll(getAnnotationNames(annotation, imports));
+                }
+            }
+            if (child instanceof IMember && child instanceof IParent) {
+                collect((IParent) child, imports, annotationNames);
+            }
+        }
+    }
+
+    /*
+     * The names an annotation may stand for, nested annotations (ie: the @DataSourceDefinition
+     * values of @DataSourceDefinitions) are attributed to the annotated element as well.
+     */
+    private static Set<String> getAnnotationNames(IAnnotation annotation, ImportTable imports) throws JavaModelException {
+        Set<String> names = new LinkedHashSet<>(imports.getFQNCandidates(annotation.getElementName()));
+        for (IMemberValuePair member : annotation.getMemberValuePairs()) {
+            if (member.getValueKind() != IMemberValuePair.K_ANNOTATION) {
+                continue;
+            }
+            if (member.getValue() instanceof Object[]) {
+                for (Object value : (Object[]) member.getValue()) {
+                    if (value instanceof IAnnotation) {
+                        names.addAll(imports.getFQNCandidates(((IAnnotation) value).getElementName()));
+                    }
+                }
+            } else if (member.getValue() instanceof IAnnotation) {
+                names.addAll(imports.getFQNCandidates(((IAnnotation) member.getValue()).getElementName()));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,104 @@
+package io.konveyor.tackle.core.internal.index;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.jdt.core.ICompilationUnit;
+
+/**
+ * Base of the workspace indexes that are built one compilation unit at a time.
+ *
+ * What an index records for a unit is kept with the modification stamp of the unit's resource,
+ * the unit is only collected again once its resource changed, and dropped once its resource no
+ * longer exists (see {@link #prune}). Subclasses fold the data of a
+ * unit into their lookup structures in {@link #addUnit} and take it out in {@link #removeUnit},
+ * both are called while holding the index lock.
+ *
+ * @param <T> what the index records for a compilation unit
+ */
+public abstract class CompilationUnitIndex<T> {
+
+    // compilation unit handle identifier -> data of the unit
+    private final Map<String, IndexedUnit<T>> units = new ConcurrentHashMap<>();
+
+    /**
+     * Makes sure the given units are indexed and up to date.
+     */
+    public void index(Collection<ICompilationUnit> candidates) {
+        prune();
+        for (ICompilationUnit unit : candidates) {
+            index(unit);
+        }
+    }
+
+    /**
+     * Drops the units whose resource no longer exists, ie: deleted from the workspace.
+     */
+    protected synchronized void prune() {
+        Iterator<Map.Entry<String, IndexedUnit<T>>> entries = units.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, IndexedUnit<T>> entry = entries.next();
+            IResource resource = entry.getValue().resource;
+            if (resource == null || !resource.exists()) {
+                removeUnit(entry.getKey(), entry.getValue().data);
+                entries.remove();
+            }
+        }
+    }
+
+    boolean contains(ICompilationUnit unit) {
+        return units.containsKey(unit.getHandleIdentifier());
+    }
+
+    /**
+     * Returns the data of a unit, indexing it first when needed.
+     */
+    protected T index(ICompilationUnit unit) {
+        String key = unit.getHandleIdentifier();
+        IResource resource = unit.getResource();
+        long stamp = resource == null ? IResource.NULL_STAMP : resource.getModificationStamp();
+        IndexedUnit<T> indexed = units.get(key);
+        if (isCurrent(indexed, stamp)) {
+            return indexed.data;
+        }
+        synchronized (this) {
+            indexed = units.get(key);
+            if (isCurrent(indexed, stamp)) {
+                return indexed.data;
+            }
+            if (indexed != null) {
+                removeUnit(key, indexed.data);
+            }
+            T data = collect(unit);
+            addUnit(key, data);
+            units.put(key, new IndexedUnit<>(resource, stamp, data));
+            return data;
+        }
+    }
+
+    protected abstract T collect(ICompilationUnit unit);
+
+    protected abstract void addUnit(String key, T data);
+
+    protected abstract void removeUnit(String key, T data);
+
+    private static boolean isCurrent(IndexedUnit<?> indexed, long stamp) {
+        // units without a resource can not tell whether they changed
+        return indexed != null && indexed.stamp == stamp && stamp != IResource.NULL_STAMP;
+    }
+
+    private static final class IndexedUnit<T> {
+        private final IResource resource;
+        private final long stamp;
+        private final T data;
+
+        private IndexedUnit(IResource resource, long stamp, T data) {
+            this.resource = resource;
+            this.stamp = stamp;
+            this.data = data;
+        }
+    }
+}
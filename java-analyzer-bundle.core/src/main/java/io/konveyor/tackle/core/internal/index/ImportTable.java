@@ -0,0 +1,102 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * The imports of a compilation unit, arranged to resolve simple names: single-type imports by
+ * their simple name and the packages of on-demand imports.
+ *
+ * Resolving the name of an annotation used to scan all the imports of its unit, for every
+ * annotation of every match. Tables are built once per unit and kept for the search
+ * (see SearchContext), so resolving a name is a hash lookup.
+ */
+public class ImportTable {
+
+    public static final ImportTable EMPTY = new ImportTable(Collections.emptyList());
+
+    private final Map<String, String> singleTypeImports = new HashMap<>();
+    private final List<String> onDemandPackages = new ArrayList<>();
+
+    /**
+     * @param importNames the names of the import declarations, ie: <code>javax.ejb.Stateless</code>
+     *                    or <code>javax.ejb.*</code>
+     */
+    public ImportTable(List<String> importNames) {
+        for (String importName : importNames) {
+            if (importName == null || importName.isEmpty()) {
+                continue;
+            }
+            if (importName.endsWith(".*")) {
+                String prefix = importName.substring(0, importName.length() - 2);
+                if (!prefix.isEmpty()) {
+                    onDemandPackages.add(prefix);
+                }
+                continue;
+            }
+            // the first import wins, a second one for the same simple name does not compile anyway
+            singleTypeImports.putIfAbsent(importName.substring(importName.lastIndexOf('.') + 1), importName);
+        }
+    }
+
+    public static ImportTable of(ICompilationUnit unit) {
+        if (unit == null) {
+            return EMPTY;
+        }
+        try {
+            IImportDeclaration[] imports = unit.getImports();
+            List<String> importNames = new ArrayList<>(imports.length);
+            for (IImportDeclaration imp : imports) {
+                importNames.add(imp.getElementName());
+            }
+            return new ImportTable(importNames);
+        } catch (JavaModelException e) {
+            logInfo("KONVEYOR_LOG: unable to read imports of " + unit.getElementName() + ": " + e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * The single-type import for a simple name, null when there is none.
+     */
+    public String resolve(String simpleName) {
+        return singleTypeImports.get(simpleName);
+    }
+
+    public List<String> getOnDemandPackages() {
+        return onDemandPackages;
+    }
+
+    /**
+     * Returns all possible FQNs for a name as written in source: the name itself when it is already
+     * qualified, otherwise the single-type import (if any) first, then one candidate per on-demand
+     * import. Callers try each until the rule matches.
+     */
+    public List<String> getFQNCandidates(String name) {
+        if (name == null || name.isEmpty()) {
+            return List.of();
+        }
+        // Already fully qualified in source (e.g. @com.example.MyAnnotation)
+        if (name.contains(".")) {
+            return List.of(name);
+        }
+        List<String> candidates = new ArrayList<>(onDemandPackages.size() + 1);
+        String imported = singleTypeImports.get(name);
+        if (imported != null) {
+            candidates.add(imported);
+        }
+        for (String onDemandPackage : onDemandPackages) {
+            candidates.add(onDemandPackage + "." + name);
+        }
+        return candidates;
+    }
+}
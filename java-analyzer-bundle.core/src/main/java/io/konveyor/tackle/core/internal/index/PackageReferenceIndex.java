@@ -0,0 +1,288 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IPackageBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.ImportDeclaration;
+import org.eclipse.jdt.core.dom.Name;
+import org.eclipse.jdt.core.dom.PackageDeclaration;
+import org.eclipse.jdt.core.dom.QualifiedName;
+import org.eclipse.jdt.core.search.PackageReferenceMatch;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+/**
+ * The package references (imports and fully qualified names) of every source compilation unit,
+ * with their source ranges.
+ *
+ * Package searches (location 11) used to run an OR of PACKAGE declarations and references over
+ * the whole scope, only the references ever located anything in source. The occurrences of the
+ * packages matching a query are a lookup here.
+ *
+ * Units are parsed once with bindings, the package of a qualified name is the longest qualifier
+ * bound to a package. Names whose qualifiers are not bound (missing libraries) are taken for a
+ * package reference when they start with lower case segments followed by a type
+ * (<code>java.sql.Connection</code>).
+ */
+public class PackageReferenceIndex extends CompilationUnitIndex<List<PackageReferenceIndex.PackageOccurrence>> {
+
+    private static final PackageReferenceIndex INSTANCE = new PackageReferenceIndex();
+
+    // package name -> compilation unit handle identifier -> occurrences of the package in the unit
+    private final Map<String, Map<String, List<PackageOccurrence>>> occurrencesByPackage = new ConcurrentHashMap<>();
+
+    public static PackageReferenceIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the occurrences, in the given units, of the packages matching the query.
+     */
+    public List<PackageOccurrence> findOccurrences(RuleQuery query, Collection<ICompilationUnit> candidates) {
+        index(candidates);
+        List<String> candidateKeys = new ArrayList<>(candidates.size());
+        for (ICompilationUnit unit : candidates) {
+            candidateKeys.add(unit.getHandleIdentifier());
+        }
+        List<PackageOccurrence> occurrences = new ArrayList<>();
+        for (Map.Entry<String, Map<String, List<PackageOccurrence>>> entry : occurrencesByPackage.entrySet()) {
+            if (!query.matchesFqn(entry.getKey())) {
+                continue;
+            }
+            for (String key : candidateKeys) {
+                occurrences.addAll(entry.getValue().getOrDefault(key, List.of()));
+            }
+        }
+        logInfo("KONVEYOR_LOG: package index found " + occurrences.size() + " occurrences of packages matching " + query.getQuery());
+        return occurrences;
+    }
+
+    /**
+     * A search match for an occurrence found in the index, so it goes through the same requestor
+     * and symbol providers as the ones of the search engine.
+     */
+    public static SearchMatch toSearchMatch(PackageOccurrence occurrence, SearchParticipant participant) throws JavaModelException {
+        ICompilationUnit unit = occurrence.getUnit();
+        IJavaElement element;
+        if (occurrence.getKind() == OccurrenceKind.IMPORT) {
+            element = unit.getImport(occurrence.getImportName());
+        } else {
+            // the member enclosing the reference, like the search engine reports it
+            element = unit.getElementAt(occurrence.getOffset());
+        }
+        return new PackageReferenceMatch(element != null ? element : unit, SearchMatch.A_ACCURATE,
+                occurrence.getOffset(), occurrence.getLength(), false, participant, unit.getResource());
+    }
+
+    @Override
+    protected List<PackageOccurrence> collect(ICompilationUnit unit) {
+        try {
+            ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+            parser.setSource(unit);
+            parser.setResolveBindings(true);
+            return collect(unit, (CompilationUnit) parser.createAST(null));
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to index packages of " + unit.getElementName() + ": " + e);
+            return List.of();
+        }
+    }
+
+    static List<PackageOccurrence> collect(ICompilationUnit unit, CompilationUnit cu) {
+        List<PackageOccurrence> occurrences = new ArrayList<>();
+        cu.accept(new ASTVisitor() {
+            @Override
+            public boolean visit(PackageDeclaration node) {
+                // package statements are not references
+                return false;
+            }
+
+            @Override
+            public boolean visit(ImportDeclaration node) {
+                Name name = node.getName();
+                Name packageName = getPackagePart(name, node.isOnDemand() ? 0 : node.isStatic() ? 2 : 1);
+                if (packageName != null) {
+                    String importName = name.getFullyQualifiedName() + (node.isOnDemand() ? ".*" : "");
+                    occurrences.add(new PackageOccurrence(unit, OccurrenceKind.IMPORT, packageName.getFullyQualifiedName(), importName,
+                            packageName.getStartPosition(), packageName.getLength()));
+                }
+                return false;
+            }
+
+            @Override
+            public boolean visit(QualifiedName node) {
+                Name packageName = getQualifyingPackage(node);
+                if (packageName != null) {
+                    occurrences.add(new PackageOccurrence(unit, OccurrenceKind.REFERENCE, packageName.getFullyQualifiedName(), null,
+                            packageName.getStartPosition(), packageName.getLength()));
+                }
+                // the qualifiers are part of this name
+                return false;
+            }
+        });
+        return occurrences;
+    }
+
+    /*
+     * The package of an import name: the lower case segments before the first type, or the name
+     * without its last segments (the type, and the member of static imports) when every segment is
+     * lower case.
+     */
+    private static Name getPackagePart(Name name, int trailingSegments) {
+        Name packageName = getQualifyingPackage(name);
+        if (packageName != null || trailingSegments == 0) {
+            return packageName != null ? packageName : name;
+        }
+        for (int i = 0; i < trailingSegments && name != null; i++) {
+            name = name instanceof QualifiedName ? ((QualifiedName) name).getQualifier() : null;
+        }
+        return name;
+    }
+
+    /*
+     * The longest qualifier that is a package followed by a type, null when the name does not
+     * start with a package (ie: variable.field.CONSTANT).
+     */
+    private static Name getQualifyingPackage(Name name) {
+        List<Name> qualifiers = new ArrayList<>();
+        Name current = name;
+        while (current instanceof QualifiedName) {
+            current = ((QualifiedName) current).getQualifier();
+            qualifiers.add(0, current);
+        }
+        if (qualifiers.isEmpty()) {
+            return null;
+        }
+        // qualifiers go from the first segment to the longest qualifier
+        Name packageName = null;
+        for (Name qualifier : qualifiers) {
+            IBinding binding = qualifier.resolveBinding();
+            if (binding == null) {
+                return guessQualifyingPackage(name, qualifiers);
+            }
+            if (!(binding instanceof IPackageBinding)) {
+                break;
+            }
+            packageName = qualifier;
+        }
+        if (packageName == null) {
+            return null;
+        }
+        Name next = packageName == qualifiers.get(qualifiers.size() - 1) ? name : qualifiers.get(qualifiers.indexOf(packageName) + 1);
+        IBinding type = next.resolveBinding();
+        if (type == null) {
+            return guessQualifyingPackage(name, qualifiers);
+        }
+        return type instanceof ITypeBinding ? packageName : null;
+    }
+
+    /*
+     * Without bindings: the longest qualifier made of lower case segments that is followed by a
+     * type segment.
+     */
+    private static Name guessQualifyingPackage(Name name, List<Name> qualifiers) {
+        Name packageName = null;
+        for (Name qualifier : qualifiers) {
+            String segment = qualifier instanceof QualifiedName
+                    ? ((QualifiedName) qualifier).getName().getIdentifier()
+                    : qualifier.getFullyQualifiedName();
+            if (!Character.isLowerCase(segment.charAt(0))) {
+                break;
+            }
+            packageName = qualifier;
+        }
+        if (packageName == null) {
+            return null;
+        }
+        // the segment after the package has to look like a type
+        Name next = packageName == qualifiers.get(qualifiers.size() - 1) ? name : qualifiers.get(qualifiers.indexOf(packageName) + 1);
+        String typeSegment = ((QualifiedName) next).getName().getIdentifier();
+        return Character.isUpperCase(typeSegment.charAt(0)) ? packageName : null;
+    }
+
+    @Override
+    protected void addUnit(String key, List<PackageOccurrence> occurrences) {
+        for (PackageOccurrence occurrence : occurrences) {
+            occurrencesByPackage.computeIfAbsent(occurrence.getPackageName(), n -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key, k -> new ArrayList<>()).add(occurrence);
+        }
+    }
+
+    @Override
+    protected void removeUnit(String key, List<PackageOccurrence> occurrences) {
+        for (PackageOccurrence occurrence : occurrences) {
+            Map<String, List<PackageOccurrence>> units = occurrencesByPackage.get(occurrence.getPackageName());
+            if (units != null) {
+                units.remove(key);
+            }
+        }
+    }
+
+    public enum OccurrenceKind {
+        IMPORT,
+        // a fully qualified name in a declaration or a body
+        REFERENCE
+    }
+
+    /**
+     * A package name in a compilation unit, the range is the one of the package name only.
+     */
+    public static final class PackageOccurrence {
+        private final ICompilationUnit unit;
+        private final OccurrenceKind kind;
+        private final String packageName;
+        // the import as named in the java model, ie: java.util.* for on-demand imports
+        private final String importName;
+        private final int offset;
+        private final int length;
+
+        private PackageOccurrence(ICompilationUnit unit, OccurrenceKind kind, String packageName, String importName, int offset, int length) {
+            this.unit = unit;
+            this.kind = kind;
+            this.packageName = packageName;
+            this.importName = importName;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public ICompilationUnit getUnit() {
+            return unit;
+        }
+
+        public OccurrenceKind getKind() {
+            return kind;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public String getImportName() {
+            return importName;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.IBuffer;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.Signature;
+import org.eclipse.jdt.core.SourceRange;
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.compiler.IScanner;
+import org.eclipse.jdt.core.compiler.ITerminalSymbols;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.TypeReferenceMatch;
+
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+/**
+ * Maps erased return types (with their array dimensions) to the source methods declaring them.
+ *
+ * A return_type search used to run a REFERENCES search for the type and throw away every
+ * reference that is not the return type of a method. The index lets the search enumerate the
+ * method declarations returning a matching type instead, the other references of the type are
+ * never looked at.
+ *
+ * Return types are read from the method signatures of the java model (no AST) and resolved
+ * against the imports of their declaring type, <code>List&lt;String&gt;[]</code> is recorded as
+ * <code>java.util.List</code> with one dimension. Names that can not be resolved are kept the
+ * way they are written and matched like unresolved source names. Type variables are left out.
+ * Methods of local and anonymous types are indexed as well.
+ */
+public class ReturnTypeIndex extends CompilationUnitIndex<List<ReturnTypeIndex.MethodReturn>> {
+
+    private static final ReturnTypeIndex INSTANCE = new ReturnTypeIndex();
+
+    // return type -> compilation unit handle identifier -> methods returning it
+    private final Map<ReturnType, Map<String, List<IMethod>>> methodsByReturnType = new ConcurrentHashMap<>();
+
+    public static ReturnTypeIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the methods, declared in the given units, whose return type matches the query.
+     */
+    public List<IMethod> findMethods(RuleQuery query, Collection<ICompilationUnit> candidates) {
+        index(candidates);
+        List<String> candidateKeys = new ArrayList<>(candidates.size());
+        for (ICompilationUnit unit : candidates) {
+            candidateKeys.add(unit.getHandleIdentifier());
+        }
+        List<IMethod> methods = new ArrayList<>();
+        int returnTypes = 0;
+        for (Map.Entry<ReturnType, Map<String, List<IMethod>>> entry : methodsByReturnType.entrySet()) {
+            ReturnType returnType = entry.getKey();
+            if (!query.matchesTypeName(returnType.name, returnType.dimensions, returnType.qualified)) {
+                continue;
+            }
+            returnTypes++;
+            for (String key : candidateKeys) {
+                methods.addAll(entry.getValue().getOrDefault(key, List.of()));
+            }
+        }
+        logInfo("KONVEYOR_LOG: return type index found " + methods.size() + " methods returning one of "
+                + returnTypes + " types matching " + query.getQuery());
+        return methods;
+    }
+
+    /**
+     * A search match on the return type of a method found in the index, the same reference the
+     * REFERENCES search reports, so it goes through the same requestor and symbol providers as
+     * the matches of the search engine.
+     */
+    public static SearchMatch toSearchMatch(IMethod method, SearchParticipant participant) throws JavaModelException {
+        ISourceRange range = method.getSourceRange();
+        ISourceRange nameRange = method.getNameRange();
+        int offset = nameRange.getOffset();
+        int length = nameRange.getLength();
+        IBuffer buffer = method.getOpenable().getBuffer();
+        if (buffer != null && SourceRange.isAvailable(range) && nameRange.getOffset() > range.getOffset()) {
+            // the return type is the last type written before the name of the method
+            char[] declaration = buffer.getText(range.getOffset(), nameRange.getOffset() - range.getOffset()).toCharArray();
+            int[] typeName = findLastTypeName(declaration);
+            if (typeName != null) {
+                offset = range.getOffset() + typeName[0];
+                length = typeName[1] - typeName[0];
+            }
+        }
+        return new TypeReferenceMatch(method, SearchMatch.A_ACCURATE, offset, length, false, participant, method.getResource());
+    }
+
+    /*
+     * The start and end of the (qualified) name of the type the source ends with, type arguments
+     * and array dimensions left out: "java.util.List" in "public java.util.List<String>[] ".
+     * Null when the source does not end with a type.
+     */
+    static int[] findLastTypeName(char[] source) {
+        IScanner scanner = ToolFactory.createScanner(false, false, false, false);
+        scanner.setSource(source);
+        List<int[]> tokens = new ArrayList<>();
+        try {
+            int token;
+            while ((token = scanner.getNextToken()) != ITerminalSymbols.TokenNameEOF) {
+                tokens.add(new int[] { token, scanner.getCurrentTokenStartPosition(), scanner.getCurrentTokenEndPosition() + 1 });
+            }
+        } catch (InvalidInputException e) {
+            return null;
+        }
+        int i = tokens.size() - 1;
+        // array dimensions
+        while (i > 0 && tokens.get(i)[0] == ITerminalSymbols.TokenNameRBRACKET && tokens.get(i - 1)[0] == ITerminalSymbols.TokenNameLBRACKET) {
+            i -= 2;
+        }
+        // type arguments, up to the '<' closed by the last '>'
+        if (i >= 0 && closingAngles(tokens.get(i)[0]) > 0) {
+            int depth = 0;
+            for (; i >= 0; i--) {
+                depth += closingAngles(tokens.get(i)[0]);
+                if (tokens.get(i)[0] == ITerminalSymbols.TokenNameLESS && --depth == 0) {
+                    i--;
+                    break;
+                }
+            }
+        }
+        if (i < 0 || tokens.get(i)[0] != ITerminalSymbols.TokenNameIdentifier) {
+            return null;
+        }
+        int end = tokens.get(i)[2];
+        while (i > 1 && tokens.get(i - 1)[0] == ITerminalSymbols.TokenNameDOT && tokens.get(i - 2)[0] == ITerminalSymbols.TokenNameIdentifier) {
+            i -= 2;
+        }
+        return new int[] { tokens.get(i)[1], end };
+    }
+
+    private static int closingAngles(int token) {
+        switch (token) {
+        case ITerminalSymbols.TokenNameGREATER:
+            return 1;
+        case ITerminalSymbols.TokenNameRIGHT_SHIFT:
+            return 2;
+        case ITerminalSymbols.TokenNameUNSIGNED_RIGHT_SHIFT:
+            return 3;
+        default:
+            return 0;
+        }
+    }
+
+    @Override
+    protected List<MethodReturn> collect(ICompilationUnit unit) {
+        List<MethodReturn> methods = new ArrayList<>();
+        // the same names tend to be returned over and over in a type, they are resolved once per
+        // declaring type as nested types of different types may share a name
+        Map<String, String> resolved = new HashMap<>();
+        try {
+            collect(unit, methods, resolved);
+        } catch (JavaModelException e) {
+            logInfo("KONVEYOR_LOG: unable to index return types of " + unit.getElementName() + ": " + e);
+        }
+        return methods;
+    }
+
+    // walks the children rather than the member types so methods of local and anonymous types are indexed too
+    private static void collect(IParent parent, List<MethodReturn> methods, Map<String, String> resolved) throws JavaModelException {
+        for (IJavaElement child : parent.getChildren()) {
+            if (child instanceof IMethod && !((IMethod) child).isConstructor()) {
+                IMethod method = (IMethod) child;
+                ReturnType returnType = getReturnType(method.getDeclaringType(), method.getReturnType(), resolved);
+                if (returnType != null) {
+                    methods.add(new MethodReturn(returnType, method));
+                }
+            }
+            if (child instanceof IMember && child instanceof IParent) {
+                collect((IParent) child, methods, resolved);
+            }
+        }
+    }
+
+    @Override
+    protected void addUnit(String key, List<MethodReturn> methods) {
+        for (MethodReturn method : methods) {
+            methodsByReturnType.computeIfAbsent(method.returnType, t -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(key, k -> new ArrayList<>()).add(method.method);
+        }
+    }
+
+    @Override
+    protected void removeUnit(String key, List<MethodReturn> methods) {
+        for (MethodReturn method : methods) {
+            Map<String, List<IMethod>> units = methodsByReturnType.get(method.returnType);
+            if (units != null) {
+                units.remove(key);
+            }
+        }
+    }
+
+    private static ReturnType getReturnType(IType type, String signature, Map<String, String> resolved) throws JavaModelException {
+        int dimensions = Signature.getArrayCount(signature);
+        String elementType = Signature.getTypeErasure(Signature.getElementType(signature));
+        int kind = Signature.getTypeSignatureKind(elementType);
+        if (kind == Signature.TYPE_VARIABLE_SIGNATURE) {
+            return null;
+        }
+        String name = Signature.toString(elementType);
+        if (kind == Signature.BASE_TYPE_SIGNATURE || elementType.charAt(0) == Signature.C_RESOLVED) {
+            return "void".equals(name) ? null : new ReturnType(name, dimensions, true);
+        }
+        String key = type.getHandleIdentifier() + "|" + name;
+        String fullyQualifiedName = resolved.get(key);
+        if (fullyQualifiedName == null) {
+            String[][] candidates = type.resolveType(name);
+            if (candidates == null || candidates.length == 0) {
+                fullyQualifiedName = "";
+            } else {
+                fullyQualifiedName = candidates[0][0].isEmpty() ? candidates[0][1] : candidates[0][0] + "." + candidates[0][1];
+            }
+            resolved.put(key, fullyQualifiedName);
+        }
+        return fullyQualifiedName.isEmpty()
+                ? new ReturnType(name, dimensions, false)
+                : new ReturnType(fullyQualifiedName, dimensions, true);
+    }
+
+    static final class MethodReturn {
+        private final ReturnType returnType;
+        private final IMethod method;
+
+        private MethodReturn(ReturnType returnType, IMethod method) {
+            this.returnType = returnType;
+            this.method = method;
+        }
+    }
+
+    private static final class ReturnType {
+        private final String name;
+        private final int dimensions;
+        // false for names that could not be resolved, kept as written in source
+        private final boolean qualified;
+
+        private ReturnType(String name, int dimensions, boolean qualified) {
+            this.name = name;
+            this.dimensions = dimensions;
+            this.qualified = qualified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ReturnType)) {
+                return false;
+            }
+            ReturnType other = (ReturnType) o;
+            return dimensions == other.dimensions && qualified == other.qualified && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, dimensions, qualified);
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IParent;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.core.search.SearchParticipant;
+import org.eclipse.jdt.core.search.TypeDeclarationMatch;
+
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+/**
+ * A workspace wide graph of the supertypes and subtypes of the types declared in source.
+ *
+ * Inheritance and implements_type searches use IMPLEMENTORS patterns, which only see the
+ * direct supertypes written in a declaration. The graph answers the transitive form of those
+ * queries ("anything extending javax.ejb.EJBObject", through any number of intermediate
+ * types) by walking down from the types matching the query.
+ *
+ * Source types, local and anonymous ones included, are indexed per compilation unit from the
+ * java model. The same name may be declared by several units (ie: in several projects), each
+ * declaration is kept with its own supertypes. Library types only enter the graph as (possibly
+ * indirect) supertypes of source types, their supertypes are read once from the class files.
+ */
+public class TypeHierarchyIndex extends CompilationUnitIndex<List<TypeHierarchyIndex.SourceType>> {
+
+    private static final TypeHierarchyIndex INSTANCE = new TypeHierarchyIndex();
+
+    // type FQN -> source declarations of the type
+    private final Map<String, List<SourceType>> sourceTypes = new ConcurrentHashMap<>();
+    // type FQN -> direct supertype FQNs, for the library types
+    private final Map<String, Set<String>> libraryTypes = new ConcurrentHashMap<>();
+    // type FQN -> direct subtype FQNs
+    private final Map<String, Set<String>> subtypes = new ConcurrentHashMap<>();
+
+    public static TypeHierarchyIndex getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The direct supertypes of a type, of all of its declarations, null when the type is not in
+     * the graph.
+     */
+    Set<String> getSupertypes(String typeName) {
+        List<SourceType> declarations = sourceTypes.get(typeName);
+        if (declarations == null) {
+            return libraryTypes.get(typeName);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (SourceType declaration : declarations) {
+            names.addAll(declaration.supertypes);
+        }
+        return names;
+    }
+
+    /**
+     * Returns the source types, out of the given units, that extend or implement a type matching
+     * the query, through any number of intermediate types.
+     */
+    public List<IType> findSubtypes(RuleQuery query, Collection<ICompilationUnit> candidates) {
+        index(candidates);
+        Set<String> candidateUnits = new HashSet<>();
+        for (ICompilationUnit unit : candidates) {
+            candidateUnits.add(unit.getHandleIdentifier());
+        }
+        Set<String> roots = new HashSet<>();
+        for (String typeName : subtypes.keySet()) {
+            if (query.matchesFqn(typeName)) {
+                roots.add(typeName);
+            }
+        }
+        Set<String> found = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            for (String subtype : subtypes.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (found.add(subtype)) {
+                    queue.add(subtype);
+                }
+            }
+        }
+        List<IType> types = new ArrayList<>();
+        for (String typeName : found) {
+            for (SourceType declaration : sourceTypes.getOrDefault(typeName, Collections.emptyList())) {
+                if (candidateUnits.contains(declaration.unit)) {
+                    types.add(declaration.type);
+                }
+            }
+        }
+        logInfo("KONVEYOR_LOG: type hierarchy found " + types.size() + " subtypes of " + roots.size() + " types matching " + query.getQuery());
+        return types;
+    }
+
+    /**
+     * A search match on the name of a type found in the graph, so it goes through the same
+     * requestor and symbol providers as the ones of the search engine.
+     */
+    public static SearchMatch toSearchMatch(IType type, SearchParticipant participant) throws JavaModelException {
+        ISourceRange range = type.getNameRange();
+        return new TypeDeclarationMatch(type, SearchMatch.A_ACCURATE, range.getOffset(), range.getLength(),
+                participant, type.getResource());
+    }
+
+    @Override
+    protected List<SourceType> collect(ICompilationUnit unit) {
+        List<SourceType> types = new ArrayList<>();
+        try {
+            collect(unit, unit.getHandleIdentifier(), types);
+        } catch (JavaModelException e) {
+            logInfo("KONVEYOR_LOG: unable to index type hierarchy of " + unit.getElementName() + ": " + e);
+        }
+        return types;
+    }
+
+    // walks the children rather than the member types so local and anonymous types are indexed too
+    private static void collect(IParent parent, String unit, List<SourceType> types) throws JavaModelException {
+        for (IJavaElement child : parent.getChildren()) {
+            if (child instanceof IType) {
+                IType type = (IType) child;
+                types.add(new SourceType(unit, type.getFullyQualifiedName('.'), type, getDeclaredSupertypes(type)));
+            }
+            if (child instanceof IMember && child instanceof IParent) {
+                collect((IParent) child, unit, types);
+            }
+        }
+    }
+
+    @Override
+    protected void addUnit(String key, List<SourceType> types) {
+        for (SourceType sourceType : types) {
+            sourceTypes.computeIfAbsent(sourceType.name, n -> new CopyOnWriteArrayList<>()).add(sourceType);
+            for (String supertype : sourceType.supertypes) {
+                subtypes.computeIfAbsent(supertype, n -> ConcurrentHashMap.newKeySet()).add(sourceType.name);
+                addLibraryType(supertype, sourceType.type.getJavaProject());
+            }
+        }
+    }
+
+    @Override
+    protected void removeUnit(String key, List<SourceType> types) {
+        for (SourceType sourceType : types) {
+            List<SourceType> declarations = sourceTypes.get(sourceType.name);
+            if (declarations == null) {
+                continue;
+            }
+            declarations.remove(sourceType);
+            if (declarations.isEmpty()) {
+                sourceTypes.remove(sourceType.name, declarations);
+            }
+            for (String supertype : sourceType.supertypes) {
+                // the edge stays as long as another declaration of the name has the same supertype
+                if (declarations.stream().noneMatch(d -> d.supertypes.contains(supertype))) {
+                    Set<String> siblings = subtypes.get(supertype);
+                    if (siblings != null) {
+                        siblings.remove(sourceType.name);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * Supertypes that are not declared in the indexed sources come from libraries (or are
+     * unresolved), their own supertypes are read from the class file once.
+     */
+    private void addLibraryType(String typeName, IJavaProject project) {
+        if (sourceTypes.containsKey(typeName) || libraryTypes.containsKey(typeName)) {
+            return;
+        }
+        Set<String> directSupertypes = Collections.emptySet();
+        try {
+            IType type = project == null ? null : project.findType(typeName);
+            if (type != null && type.isBinary()) {
+                directSupertypes = getDeclaredSupertypes(type);
+            } else if (type != null) {
+                // a source type of another project, it enters the graph when its unit gets indexed
+                return;
+            }
+        } catch (JavaModelException e) {
+            logInfo("KONVEYOR_LOG: unable to read supertypes of " + typeName + ": " + e);
+        }
+        libraryTypes.put(typeName, directSupertypes);
+        for (String supertype : directSupertypes) {
+            subtypes.computeIfAbsent(supertype, n -> ConcurrentHashMap.newKeySet()).add(typeName);
+            addLibraryType(supertype, project);
+        }
+    }
+
+    private static Set<String> getDeclaredSupertypes(IType type) throws JavaModelException {
+        Set<String> names = new LinkedHashSet<>();
+        String superclassName = type.getSuperclassName();
+        if (superclassName != null) {
+            names.add(resolve(type, superclassName));
+        }
+        for (String interfaceName : type.getSuperInterfaceNames()) {
+            names.add(resolve(type, interfaceName));
+        }
+        return names;
+    }
+
+    /*
+     * Binary types already carry qualified names, names written in source are resolved against
+     * the imports and package of the declaring type. Unresolvable names are kept as written.
+     */
+    private static String resolve(IType type, String name) throws JavaModelException {
+        int typeArguments = name.indexOf('<');
+        if (typeArguments != -1) {
+            name = name.substring(0, typeArguments);
+        }
+        if (type.isBinary()) {
+            return name.replace('$', '.');
+        }
+        String[][] resolved = type.resolveType(name);
+        if (resolved == null || resolved.length == 0) {
+            return name;
+        }
+        return resolved[0][0].isEmpty() ? resolved[0][1] : resolved[0][0] + "." + resolved[0][1];
+    }
+
+    static final class SourceType {
+        // handle identifier of the compilation unit declaring the type
+        private final String unit;
+        private final String name;
+        private final IType type;
+        private final Set<String> supertypes;
+
+        private SourceType(String unit, String name, IType type, Set<String> supertypes) {
+            this.unit = unit;
+            this.name = name;
+            this.type = type;
+            this.supertypes = supertypes;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package io.konveyor.tackle.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Matches fully qualified names against a rule query that may contain alternation groups,
+ * ie: <code>java.io.(FileWriter|FileReader|PrintStream).*</code>
+ *
+ * The query is expanded once into its alternatives. Alternatives that are plain literals
+ * (<code>java.io.FileWriter</code>) or literal prefixes (<code>java.io.FileWriter.*</code>)
+ * are folded into a single trie so a name is checked against all of them in one pass,
+ * anything else keeps a precompiled regex. Dots in literal alternatives are matched as dots.
+ */
+public class AlternationMatcher {
+
+    private static final int MAX_CACHED_MATCHERS = 256;
+
+    // the most recently used matchers, rule patterns are arbitrary strings
+    private static final Map<String, AlternationMatcher> cache = new LinkedHashMap<>(MAX_CACHED_MATCHERS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, AlternationMatcher> eldest) {
+            return size() > MAX_CACHED_MATCHERS;
+        }
+    };
+
+    private final Node root = new Node();
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    private AlternationMatcher(List<String> alternatives) {
+        for (String alternative : alternatives) {
+            if (isLiteral(alternative)) {
+                root.insert(alternative, false);
+            } else if (alternative.endsWith(".*") && isLiteral(alternative.substring(0, alternative.length() - 2))) {
+                root.insert(alternative.substring(0, alternative.length() - 2), true);
+            } else {
+                patterns.add(compileRegex(alternative));
+            }
+        }
+    }
+
+    /**
+     * Returns the (cached) matcher for a regex style fqn pattern.
+     */
+    public static AlternationMatcher compile(String fqnPattern) {
+        synchronized (cache) {
+            return cache.computeIfAbsent(fqnPattern, p -> new AlternationMatcher(expand(p)));
+        }
+    }
+
+    static int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public boolean matches(String fullyQualifiedName) {
+        if (root.matches(fullyQualifiedName)) {
+            return true;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(fullyQualifiedName).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expands every alternation group of a query into the list of queries it stands for, ie:
+     * <code>a.(B|C).(d|e)?</code> gives <code>a.B.d, a.B.e, a.B., a.C.d, a.C.e, a.C.</code>
+     *
+     * Groups can be nested and a group followed by <code>?</code> is optional. Groups without
+     * a <code>|</code> (parameter lists like <code>method(java.lang.String)</code>) are kept
+     * as they are, but alternations inside of them are still expanded. Queries with regex
+     * constructs we can not expand textually (<code>(?</code>) or unbalanced parentheses
+     * are returned unchanged.
+     */
+    public static List<String> expand(String query) {
+        if (query == null || query.indexOf('(') == -1 || query.contains("(?")) {
+            return Collections.singletonList(query);
+        }
+        try {
+            return new ArrayList<>(expandSequence(query, 0, query.length()));
+        } catch (IllegalArgumentException e) {
+            return Collections.singletonList(query);
+        }
+    }
+
+    private static Set<String> expandSequence(String query, int start, int end) {
+        Set<String> results = new LinkedHashSet<>();
+        results.add("");
+        int literalStart = start;
+        int i = start;
+        while (i < end) {
+            char c = query.charAt(i);
+            if (c == ')') {
+                throw new IllegalArgumentException("unbalanced parentheses in " + query);
+            }
+            if (c != '(') {
+                i++;
+                continue;
+            }
+            results = append(results, Collections.singleton(query.substring(literalStart, i)));
+            int close = findClosing(query, i, end);
+            Set<String> group = expandGroup(query, i, close);
+            if (group == null) {
+                // not an alternation, keep the parentheses around the expanded content
+                group = new LinkedHashSet<>();
+                for (String inner : expandSequence(query, i + 1, close)) {
+                    group.add("(" + inner + ")");
+                }
+            } else if (close + 1 < end && query.charAt(close + 1) == '?') {
+                group.add("");
+                close++;
+            }
+            i = close + 1;
+            results = append(results, group);
+            literalStart = i;
+        }
+        return append(results, Collections.singleton(query.substring(literalStart, end)));
+    }
+
+    /*
+     * Returns the alternatives of the group opened at open, or null when the group is not an alternation.
+     */
+    private static Set<String> expandGroup(String query, int open, int close) {
+        List<int[]> branches = new ArrayList<>();
+        int depth = 0;
+        int branchStart = open + 1;
+        for (int i = open + 1; i < close; i++) {
+            char c = query.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                branches.add(new int[] {branchStart, i});
+                branchStart = i + 1;
+            }
+        }
+        branches.add(new int[] {branchStart, close});
+        if (branches.size() == 1) {
+            // redundant parentheses around an alternation, ie: ((A|B))
+            if (close - open > 2 && query.charAt(open + 1) == '(' && findClosing(query, open + 1, close) == close - 1) {
+                return expandGroup(query, open + 1, close - 1);
+            }
+            return null;
+        }
+        Set<String> results = new LinkedHashSet<>();
+        for (int[] branch : branches) {
+            results.addAll(expandSequence(query, branch[0], branch[1]));
+        }
+        return results;
+    }
+
+    private static int findClosing(String query, int open, int end) {
+        int depth = 0;
+        for (int i = open; i < end; i++) {
+            char c = query.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalArgumentException("unbalanced parentheses in " + query);
+    }
+
+    private static Set<String> append(Set<String> prefixes, Set<String> suffixes) {
+        Set<String> results = new LinkedHashSet<>(prefixes.size() * suffixes.size());
+        for (String prefix : prefixes) {
+            for (String suffix : suffixes) {
+                results.add(prefix + suffix);
+            }
+        }
+        return results;
+    }
+
+    static Pattern compileRegex(String regex) {
+        try {
+            return Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            // not a valid regex, match it literally
+            return Pattern.compile(Pattern.quote(regex));
+        }
+    }
+
+    private static boolean isLiteral(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            // '$' is a regex anchor, inner class queries have to go through the regex
+            if (c != '.' && (c == '$' || !Character.isJavaIdentifierPart(c))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        // a name ending here matches
+        private boolean terminal;
+        // any name going through here matches
+        private boolean prefix;
+
+        void insert(String literal, boolean asPrefix) {
+            Node node = this;
+            for (int i = 0; i < literal.length(); i++) {
+                node = node.children.computeIfAbsent(literal.charAt(i), c -> new Node());
+            }
+            if (asPrefix) {
+                node.prefix = true;
+            } else {
+                node.terminal = true;
+            }
+        }
+
+        boolean matches(String name) {
+            Node node = this;
+            for (int i = 0; i < name.length(); i++) {
+                if (node.prefix) {
+                    return true;
+                }
+                node = node.children.get(name.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return node.terminal || node.prefix;
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package io.konveyor.tackle.core.internal.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The parsed form of the <code>query</code> of a rule entry, ie:
+ * <code>java.util.(Properties|Map).put*(java.lang.Object, *)</code>
+ *
+ * A query is split into its parameter list (if any), trailing array dimensions and the
+ * name pattern. The name pattern is expanded into its alternatives, each one knowing its
+ * qualification (<code>java.util.Properties</code>), package qualification (<code>java.util</code>)
+ * and simple name (<code>put*</code>). Everything providers need to check a match is computed
+ * once here instead of re-deriving it from the raw string on each match.
+ */
+public class RuleQuery {
+
+    private static final int MAX_CACHED_QUERIES = 256;
+
+    // the most recently used queries, rule queries are arbitrary strings
+    private static final Map<String, RuleQuery> cache = new LinkedHashMap<>(MAX_CACHED_QUERIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RuleQuery> eldest) {
+            return size() > MAX_CACHED_QUERIES;
+        }
+    };
+
+    private final String query;
+    private final List<String> parameterTypes;
+    private final int arrayDimensions;
+    private final String fqnPattern;
+    private final AlternationMatcher fqnMatcher;
+    private final List<Alternative> alternatives;
+
+    private RuleQuery(String query) {
+        this.query = query;
+        ParameterList parameters = parseParameterList(query);
+        String name = query;
+        if (parameters != null) {
+            this.parameterTypes = parameters.getTypes();
+            name = query.substring(0, parameters.getOpenIndex()) + query.substring(parameters.getCloseIndex() + 1);
+        } else {
+            this.parameterTypes = null;
+        }
+        int dimensions = 0;
+        while (name.endsWith("[]")) {
+            name = name.substring(0, name.length() - 2);
+            dimensions++;
+        }
+        this.arrayDimensions = dimensions;
+        this.fqnPattern = toRegex(name);
+        this.fqnMatcher = AlternationMatcher.compile(this.fqnPattern);
+        List<Alternative> alternatives = new ArrayList<>();
+        for (String alternative : AlternationMatcher.expand(name)) {
+            alternatives.add(new Alternative(alternative));
+        }
+        this.alternatives = Collections.unmodifiableList(alternatives);
+    }
+
+    /**
+     * Returns the (cached) parsed form of a query.
+     */
+    public static RuleQuery compile(String query) {
+        synchronized (cache) {
+            return cache.computeIfAbsent(query, RuleQuery::new);
+        }
+    }
+
+    static int cacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Whether the query contains a qualification, only then there is something to verify
+     * the (often inaccurate) search engine matches against.
+     */
+    public boolean isQualified() {
+        return query.contains(".");
+    }
+
+    /**
+     * The parameter types of the query, null when the query has no parameter list.
+     */
+    public List<String> getParameterTypes() {
+        return parameterTypes;
+    }
+
+    public int getArrayDimensions() {
+        return arrayDimensions;
+    }
+
+    /**
+     * The regex for fully qualified names, without parameter list and array dimensions.
+     */
+    public String getFqnPattern() {
+        return fqnPattern;
+    }
+
+    public List<Alternative> getAlternatives() {
+        return alternatives;
+    }
+
+    public boolean matchesFqn(String fullyQualifiedName) {
+        return fqnMatcher.matches(fullyQualifiedName);
+    }
+
+    /**
+     * Whether a member of the given type could match the query, ie: <code>javax.persistence.FetchType</code>
+     * for <code>javax.persistence.*</code> or <code>javax.persistence.FetchType.LAZY</code>.
+     */
+    public boolean matchesDeclaringType(String typeName) {
+        for (Alternative alternative : alternatives) {
+            if (alternative.matchesDeclaringType(typeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks a type name against the query.
+     *
+     * @param typeName the erased type name, without array dimensions
+     * @param dimensions the array dimensions of the type
+     * @param qualified whether typeName is resolved (binary and primitive types), unresolved
+     *                  source names are matched against the trailing segments of the query
+     */
+    public boolean matchesTypeName(String typeName, int dimensions, boolean qualified) {
+        // a query without dimensions matches the element type of arrays too, like type references do
+        if (arrayDimensions > 0 && arrayDimensions != dimensions) {
+            return false;
+        }
+        if (qualified) {
+            return matchesFqn(typeName);
+        }
+        for (Alternative alternative : alternatives) {
+            if (alternative.matchesNameSuffix(typeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * One alternative of an alternation query, ie: <code>java.io.FileWriter*</code> for
+     * <code>java.io.(FileWriter|FileReader)*</code>
+     */
+    public static final class Alternative {
+        private final String name;
+        private final String[] segments;
+        private final Pattern pattern;
+        private final String qualification;
+        private final Pattern qualificationPattern;
+        private final String packageQualification;
+        private final Pattern packageQualificationPattern;
+        private final Map<Integer, Pattern> suffixPatterns = new ConcurrentHashMap<>();
+
+        private Alternative(String alternative) {
+            this.name = alternative;
+            this.segments = alternative.split("\\.");
+            this.pattern = AlternationMatcher.compileRegex(toRegex(alternative));
+            int dotIndex = alternative.lastIndexOf('.');
+            this.qualification = dotIndex > 0 ? alternative.substring(0, dotIndex) : "";
+            this.qualificationPattern = AlternationMatcher.compileRegex(toRegex(this.qualification));
+            int packageDotIndex = this.qualification.lastIndexOf('.');
+            this.packageQualification = packageDotIndex > 0 ? this.qualification.substring(0, packageDotIndex) : "";
+            this.packageQualificationPattern = AlternationMatcher.compileRegex(toRegex(this.packageQualification));
+        }
+
+        /**
+         * The alternative as written in the query, ie: java.io.FileWriter*
+         */
+        public String getName() {
+            return name;
+        }
+
+        public boolean matches(String fullyQualifiedName) {
+            return pattern.matcher(fullyQualifiedName).matches();
+        }
+
+        boolean matchesDeclaringType(String typeName) {
+            Matcher matcher = pattern.matcher(typeName + ".");
+            // running out of input before the pattern completes means a member name could still match
+            return matcher.matches() || matcher.hitEnd();
+        }
+
+        /**
+         * For a query java.io.paths.File*, the qualification is java.io.paths
+         */
+        public String getQualification() {
+            return qualification;
+        }
+
+        public boolean matchesQualification(String name) {
+            return !qualification.isEmpty() && qualificationPattern.matcher(name).matches();
+        }
+
+        /**
+         * For a query java.io.paths.File*, the package qualification is java.io
+         */
+        public String getPackageQualification() {
+            return packageQualification;
+        }
+
+        public boolean matchesPackageQualification(String name) {
+            return !packageQualification.isEmpty() && packageQualificationPattern.matcher(name).matches();
+        }
+
+        /**
+         * The qualification as a path, ie: java/io/paths
+         */
+        public String getQualificationPath() {
+            return qualification.replace('.', '/');
+        }
+
+        /*
+         * Matches names written in source, like Map.Entry, against the same number of trailing segments.
+         */
+        boolean matchesNameSuffix(String name) {
+            int count = 1;
+            for (int i = 0; i < name.length(); i++) {
+                if (name.charAt(i) == '.') {
+                    count++;
+                }
+            }
+            if (count >= segments.length) {
+                return matches(name);
+            }
+            Pattern suffix = suffixPatterns.computeIfAbsent(count, c -> AlternationMatcher.compileRegex(
+                    toRegex(String.join(".", List.of(segments).subList(segments.length - c, segments.length)))));
+            return suffix.matcher(name).matches();
+        }
+    }
+
+    /**
+     * The parameter list of a query, the indexes are the ones of the <code>(</code> and <code>)</code>
+     * around it.
+     */
+    public static final class ParameterList {
+        private final List<String> types;
+        private final int openIndex;
+        private final int closeIndex;
+
+        private ParameterList(List<String> types, int openIndex, int closeIndex) {
+            this.types = types;
+            this.openIndex = openIndex;
+            this.closeIndex = closeIndex;
+        }
+
+        public List<String> getTypes() {
+            return types;
+        }
+
+        public int getOpenIndex() {
+            return openIndex;
+        }
+
+        public int getCloseIndex() {
+            return closeIndex;
+        }
+    }
+
+    /**
+     * Parses the query for a trailing Java formal parameter list (first {@code '('} through last {@code ')'})
+     * when heuristics indicate alternation groups like {@code pkg.(A|B)} are not in play.
+     * Returns null when there is no parameter list.
+     */
+    public static ParameterList parseParameterList(String query) {
+        int openParen = query.indexOf('(');
+        if (openParen == -1) {
+            return null;
+        }
+
+        int closeParen = query.lastIndexOf(')');
+        if (closeParen == -1 || openParen >= closeParen) {
+            return null;
+        }
+
+        String potentialParams = query.substring(openParen + 1, closeParen);
+        if (potentialParams.contains("|")) {
+            return null;
+        }
+
+        String afterParen = query.substring(closeParen + 1).trim();
+        if (afterParen.length() > 0 && !afterParen.matches("\\**")) {
+            return null;
+        }
+
+        String paramsString = potentialParams.trim();
+        if (paramsString.isEmpty()) {
+            return new ParameterList(Collections.emptyList(), openParen, closeParen);
+        }
+
+        List<String> params = new ArrayList<>(4);
+
+        int depth = 0;
+        int start = 0;
+        int length = paramsString.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = paramsString.charAt(i);
+            if (c == '<') {
+                depth++;
+            } else if (c == '>') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                params.add(paramsString.substring(start, i).trim());
+                start = i + 1;
+            }
+        }
+        params.add(paramsString.substring(start).trim());
+
+        return new ParameterList(params, openParen, closeParen);
+    }
+
+    /**
+     * Normalizes unqualified {@code *} to {@code .*} for regex.
+     */
+    public static String toRegex(String query) {
+        return query.replaceAll("(?<!\\.)\\*", ".*");
+    }
+}
@@ -0,0 +1,96 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.ISourceRange;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.Annotation;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IAnnotationBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.MarkerAnnotation;
+import org.eclipse.jdt.core.dom.NormalAnnotation;
+import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
+
+/*
+ * The resolved annotation types of a compilation unit, keyed by the source offset of each
+ * annotation. The unit is parsed with bindings once and the table is kept in the SearchContext,
+ * so every annotation match of the unit is resolved with a lookup instead of running the
+ * selection engine (codeSelect) or a binding-resolved parse per annotation.
+ *
+ * Annotations whose type can not be resolved (compilation problems) are left out, callers
+ * fall back to the import table for those.
+ */
+public class AnnotationBindingTable {
+
+    public static final AnnotationBindingTable EMPTY = new AnnotationBindingTable(Collections.emptyMap(), true);
+
+    private final Map<Integer, String> namesByOffset;
+    // whether annotations inside bodies (local variables, local and anonymous types) are in the table
+    private final boolean withBodies;
+
+    private AnnotationBindingTable(Map<Integer, String> namesByOffset, boolean withBodies) {
+        this.namesByOffset = namesByOffset;
+        this.withBodies = withBodies;
+    }
+
+    public static AnnotationBindingTable of(ICompilationUnit unit, boolean withBodies) {
+        try {
+            CompilationUnit cu = BatchedASTVerifier.parse(unit, withBodies ? ParseProfile.FULL : ParseProfile.DECLARATIONS, 0);
+            Map<Integer, String> namesByOffset = new HashMap<>();
+            cu.accept(new ASTVisitor() {
+                @Override
+                public boolean visit(MarkerAnnotation node) {
+                    return record(node);
+                }
+
+                @Override
+                public boolean visit(NormalAnnotation node) {
+                    return record(node);
+                }
+
+                @Override
+                public boolean visit(SingleMemberAnnotation node) {
+                    return record(node);
+                }
+
+                private boolean record(Annotation node) {
+                    IAnnotationBinding binding = node.resolveAnnotationBinding();
+                    ITypeBinding type = binding != null ? binding.getAnnotationType() : null;
+                    if (type != null && !type.isRecovered()) {
+                        namesByOffset.put(node.getStartPosition(), type.getErasure().getQualifiedName());
+                    }
+                    // nested annotations in member values are recorded too
+                    return true;
+                }
+            });
+            return new AnnotationBindingTable(namesByOffset, withBodies);
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to resolve annotations of " + unit.getElementName() + ": " + e);
+            return EMPTY;
+        }
+    }
+
+    /**
+     * The fully qualified name of the annotation type, null when it could not be resolved.
+     */
+    public String resolve(IAnnotation annotation) {
+        try {
+            ISourceRange range = annotation.getSourceRange();
+            return range == null ? null : namesByOffset.get(range.getOffset());
+        } catch (JavaModelException e) {
+            return null;
+        }
+    }
+
+    public boolean hasBodies() {
+        return withBodies;
+    }
+}
@@ -3,20 +3,13 @@ package io.konveyor.tackle.core.internal.symbol;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IAnnotatable;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
-import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.compiler.IProblem;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
-import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.internal.core.ResolvedSourceField;
 import org.eclipse.jdt.internal.core.ResolvedSourceMethod;
@@ -25,13 +18,9 @@ import org.eclipse.jdt.internal.core.SourceRefElement;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
-import io.konveyor.tackle.core.internal.symbol.CustomASTVisitor.QueryLocation;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
 
-public class AnnotationSymbolProvider implements SymbolProvider, WithQuery, WithAnnotationQuery {
-
-    private AnnotationQuery annotationQuery;
-    private String query;
+public class AnnotationSymbolProvider implements SymbolProvider, WithAnnotationQuery {
 
     private static final List<Class<? extends SourceRefElement>> ACCEPTED_CLASSES = new ArrayList<>();
     static {
@@ -41,7 +30,8 @@ public class AnnotationSymbolProvider implements SymbolProvider, WithQuery, With
     }
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
+        RuleQuery query = context.getQuery();
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
             IAnnotatable annotatable = (IAnnotatable) match.getElement();
@@ -53,89 +43,16 @@ public class AnnotationSymbolProvider implements SymbolProvider, WithQuery, With
                 symbol.setContainerName(annotation.getParent().getElementName());
                 Location location = getLocation(annotationElement, match);
                 symbol.setLocation(location);
-                if (this.query.contains(".")) {
-                    // First try to get compilation unit for source files
-                    ICompilationUnit unit = (ICompilationUnit) annotationElement.getAncestor(IJavaElement.COMPILATION_UNIT);
-                    if (unit == null) {
-                        // If not in source, try to get class file for compiled classes
-                        IClassFile cls = (IClassFile) annotationElement.getAncestor(IJavaElement.CLASS_FILE);
-                        if (cls != null) {
-                            unit = cls.getWorkingCopy(new WorkingCopyOwnerImpl(), null);
-                        }
-                    }
-                    if (unit != null) {
-                        IType t = unit.getType(annotationElement.getElementName());
-                        String fqdn = "";
-                        if (!t.isResolved()) {
-                            var elements = unit.codeSelect(match.getOffset(), match.getLength());
-                            for (IJavaElement e: Arrays.asList(elements)) {
-                                if (e instanceof IType) {
-                                    var newT = (IType) e;
-                                    if (newT.isResolved()) {
-                                        fqdn = newT.getFullyQualifiedName('.');
-                                        logInfo("FQDN from code select: " + fqdn);
-                                    }
-                                }
-                            }
-                        } else {
-                            fqdn = t.getFullyQualifiedName('.');
-                            logInfo("resolved type: " + fqdn);
-                        }
-                        if (query.matches(fqdn) || fqdn.matches(query)) {
-                            if (unit.isWorkingCopy())  {
-                                unit.discardWorkingCopy();
-                                unit.close();
-                            }
-
-                            if (matchesAnnotationQuery(match, ACCEPTED_CLASSES)) {
-                                symbols.add(symbol);
-                            }
-                            return symbols;
-                        }
-                    }
-
-                    logInfo("falling back to resolving via AST");
-
-                    if (this.queryQualificationMatches(this.query.replaceAll("\\(([A-Za-z_][A-Za-z0-9_]*(\\|[A-Za-z_][A-Za-z0-9_]*)*)\\)", ".*"), annotationElement, unit, location)) {
-                        ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
-                        astParser.setSource(unit);
-                        astParser.setResolveBindings(true);
-                        CompilationUnit cu = (CompilationUnit) astParser.createAST(null);
-                        CustomASTVisitor visitor = new CustomASTVisitor(query, match, QueryLocation.ANNOTATION);
-                        // Under tests, resolveConstructorBinding will return null if there are problems
-                        IProblem[] problems = cu.getProblems();
-                        if (problems != null && problems.length > 0) {
-                            logInfo("KONVEYOR_LOG: " + "Found " + problems.length + " problems while compiling");
-                            int count = 0;
-                            for (IProblem problem : problems) {
-                                logInfo("KONVEYOR_LOG: Problem - ID: " + problem.getID() + " Message: " + problem.getMessage());
-                                count++;
-                                if (count >= SymbolProvider.MAX_PROBLEMS_TO_LOG) {
-                                    logInfo("KONVEYOR_LOG: Only showing first " + SymbolProvider.MAX_PROBLEMS_TO_LOG + " problems, " + (problems.length - SymbolProvider.MAX_PROBLEMS_TO_LOG) + " more not displayed");
-                                    break;
-                                }
-                            }
-                        }
-                        cu.accept(visitor);
-                        if (visitor.symbolMatches()) {
-                            if (annotationQuery != null) {
-                                if (matchesAnnotationQuery(match, ACCEPTED_CLASSES)) {
-                                    symbols.add(symbol);
-                                }
-                            } else {
-                                symbols.add(symbol);
-                            }
-                        }
-                    }
-                    if (unit != null && unit.isWorkingCopy())  {
-                        synchronized (SymbolProvider.LOCATION_LOCK) {
-                            unit.discardWorkingCopy();
-                            unit.close();
+                if (query.isQualified()) {
+                    if (annotationMatches(query, annotation, match, location, context)) {
+                        if (matchesAnnotationQuery(match, ACCEPTED_CLASSES, context)) {
+                            symbols.add(symbol);
                         }
+                        return symbols;
                     }
                 } else {
-                    if (annotationQuery != null) {
-                        if (matchesAnnotationQuery(match, ACCEPTED_CLASSES)) {
+                    if (context.getAnnotationQuery() != null) {
+                        if (matchesAnnotationQuery(match, ACCEPTED_CLASSES, context)) {
                             symbols.add(symbol);
                         }
                     } else {
@@ -150,16 +67,35 @@ public class AnnotationSymbolProvider implements SymbolProvider, WithQuery, With
         }
     }
 
-    public AnnotationQuery getAnnotationQuery() {
-        return annotationQuery;
-    }
-
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
-
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
+    /*
+     * Source annotations are resolved with the binding table of their unit, binary ones already
+     * carry their fully qualified name. When a binding is missing (compilation problems) we fall
+     * back to the imports of the unit, and to the qualification check when those say nothing.
+     */
+    private boolean annotationMatches(RuleQuery query, IAnnotation annotation, SearchMatch match, Location location, SearchContext context) {
+        String name = annotation.getElementName();
+        ICompilationUnit unit = (ICompilationUnit) annotation.getAncestor(IJavaElement.COMPILATION_UNIT);
+        List<String> candidates;
+        if (unit == null) {
+            candidates = List.of(name);
+        } else {
+            // annotations on local declarations are only in the table when bodies are parsed
+            boolean withBodies = ParseProfile.forDeclaration((IJavaElement) match.getElement()) != ParseProfile.DECLARATIONS;
+            String resolved = context.getAnnotationBindingTable(unit, withBodies).resolve(annotation);
+            if (resolved != null) {
+                candidates = List.of(resolved);
+            } else {
+                candidates = context.getImportTable(unit).getFQNCandidates(name);
+                if (candidates.isEmpty()) {
+                    return this.queryQualificationMatches(query, annotation, unit, location);
+                }
+            }
+        }
+        for (String fqn : candidates) {
+            if (query.getQuery().equals(fqn) || query.matchesFqn(fqn)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -0,0 +1,157 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+import io.konveyor.tackle.core.internal.symbol.CustomASTVisitor.QueryLocation;
+
+/*
+ * Collects the source matches that need their bindings checked by the CustomASTVisitor
+ * during a search and resolves all of their compilation units together afterwards.
+ * ASTParser.createASTs shares one lookup environment per batch, so types referenced from
+ * many files are only resolved once instead of once per match.
+ *
+ * Class files (working copies with their own owner) can not be batched with the sources
+ * of a project, providers keep parsing those on the spot.
+ */
+public class BatchedASTVerifier {
+    // bounds the memory held by the shared lookup environment
+    private static final int MAX_UNITS_PER_BATCH = 100;
+
+    private final TypeHierarchyCache typeHierarchyCache;
+    private final Map<ICompilationUnit, List<PendingMatch>> pending = new LinkedHashMap<>();
+
+    public BatchedASTVerifier(TypeHierarchyCache typeHierarchyCache) {
+        this.typeHierarchyCache = typeHierarchyCache;
+    }
+
+    /**
+     * Whether matches in the given unit can be deferred, only primary source units can be batched.
+     */
+    public boolean accepts(ICompilationUnit unit) {
+        return unit != null && unit.getOwner() == null && unit.getJavaProject() != null;
+    }
+
+    public synchronized void add(ICompilationUnit unit, MatchRecord record, RuleQuery query, QueryLocation location) {
+        pending.computeIfAbsent(unit, u -> new ArrayList<>()).add(new PendingMatch(record, query, location));
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Resolves every pending unit and returns the records whose match was confirmed.
+     */
+    public synchronized List<MatchRecord> verify(IProgressMonitor monitor) {
+        List<MatchRecord> records = new ArrayList<>();
+        if (pending.isEmpty()) {
+            return records;
+        }
+        Map<IJavaProject, List<ICompilationUnit>> unitsByProject = new LinkedHashMap<>();
+        for (ICompilationUnit unit : pending.keySet()) {
+            unitsByProject.computeIfAbsent(unit.getJavaProject(), p -> new ArrayList<>()).add(unit);
+        }
+        logInfo("KONVEYOR_LOG: resolving " + pending.size() + " compilation units in " + unitsByProject.size() + " projects");
+        for (Map.Entry<IJavaProject, List<ICompilationUnit>> entry : unitsByProject.entrySet()) {
+            List<ICompilationUnit> units = entry.getValue();
+            for (int start = 0; start < units.size(); start += MAX_UNITS_PER_BATCH) {
+                if (monitor != null && monitor.isCanceled()) {
+                    break;
+                }
+                List<ICompilationUnit> batch = units.subList(start, Math.min(start + MAX_UNITS_PER_BATCH, units.size()));
+                resolveBatch(entry.getKey(), batch, records, monitor);
+            }
+        }
+        pending.clear();
+        return records;
+    }
+
+    private void resolveBatch(IJavaProject project, List<ICompilationUnit> batch, List<MatchRecord> records, IProgressMonitor monitor) {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setProject(project);
+        parser.setResolveBindings(true);
+        // several matches of a unit can sit in different bodies, there is no single focal
+        // position so the batch is parsed with the FULL profile
+        try {
+            parser.createASTs(batch.toArray(new ICompilationUnit[batch.size()]), new String[0], new ASTRequestor() {
+                @Override
+                public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+                    logProblems(ast);
+                    for (PendingMatch p : pending.get(source)) {
+                        CustomASTVisitor visitor = new CustomASTVisitor(p.query, p.record.getMatch(), p.location, typeHierarchyCache);
+                        ast.accept(visitor);
+                        if (visitor.symbolMatches()) {
+                            records.add(p.record);
+                        }
+                    }
+                }
+            }, monitor);
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to resolve compilation units of " + project.getElementName() + ": " + e);
+        }
+    }
+
+    /**
+     * Parses a single unit with bindings, for matches that can not be batched.
+     */
+    public static CompilationUnit parse(ICompilationUnit unit, ParseProfile profile, int offset) {
+        return parse(unit, profile, offset, true);
+    }
+
+    public static CompilationUnit parse(ICompilationUnit unit, ParseProfile profile, int offset, boolean resolveBindings) {
+        ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
+        astParser.setSource(unit);
+        astParser.setResolveBindings(resolveBindings);
+        profile.configure(astParser, offset);
+        CompilationUnit cu = (CompilationUnit) astParser.createAST(null);
+        if (resolveBindings) {
+            logProblems(cu);
+        }
+        return cu;
+    }
+
+    // Under tests, resolveConstructorBinding will return null if there are problems
+    static void logProblems(CompilationUnit cu) {
+        IProblem[] problems = cu.getProblems();
+        if (problems != null && problems.length > 0) {
+            logInfo("KONVEYOR_LOG: " + "Found " + problems.length + " problems while compiling");
+            int count = 0;
+            for (IProblem problem : problems) {
+                logInfo("KONVEYOR_LOG: Problem - ID: " + problem.getID() + " Message: " + problem.getMessage());
+                count++;
+                if (count >= SymbolProvider.MAX_PROBLEMS_TO_LOG) {
+                    logInfo("KONVEYOR_LOG: Only showing first " + SymbolProvider.MAX_PROBLEMS_TO_LOG + " problems, " +
+                           (problems.length - SymbolProvider.MAX_PROBLEMS_TO_LOG) + " more not displayed");
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class PendingMatch {
+        private final MatchRecord record;
+        private final RuleQuery query;
+        private final QueryLocation location;
+
+        private PendingMatch(MatchRecord record, RuleQuery query, QueryLocation location) {
+            this.record = record;
+            this.query = query;
+            this.location = location;
+        }
+    }
+}
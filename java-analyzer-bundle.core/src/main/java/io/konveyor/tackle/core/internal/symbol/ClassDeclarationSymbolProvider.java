@@ -1,6 +1,5 @@
 package io.konveyor.tackle.core.internal.symbol;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.IType;
@@ -18,11 +17,9 @@ import java.util.List;
 
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
-public class ClassDeclarationSymbolProvider implements SymbolProvider, WithQuery, WithAnnotationQuery {
-    private String query;
-    private AnnotationQuery annotationQuery;
+public class ClassDeclarationSymbolProvider implements SymbolProvider, WithAnnotationQuery {
 
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
@@ -36,7 +33,7 @@ public class ClassDeclarationSymbolProvider implements SymbolProvider, WithQuery
 
             List<Class<? extends SourceRefElement>> classes = new ArrayList<>();
             classes.add(ResolvedSourceType.class);
-            if (matchesAnnotationQuery(match, classes)) {
+            if (matchesAnnotationQuery(match, classes, context)) {
                 symbols.add(symbol);
             }
         } catch (Exception e) {
@@ -45,18 +42,4 @@ public class ClassDeclarationSymbolProvider implements SymbolProvider, WithQuery
 
         return symbols;
     }
-
-    public void setQuery(String query) {
-        this.query = query;
-    }
-
-    @Override
-    public AnnotationQuery getAnnotationQuery() {
-        return this.annotationQuery;
-    }
-
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
-
 }
@@ -6,59 +6,51 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jdt.core.IClassFile;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.search.MethodReferenceMatch;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.internal.core.JavaElement;
-import org.eclipse.jdt.ls.core.internal.JDTUtils;
-import org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin;
-import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
+import io.konveyor.tackle.core.internal.query.RuleQuery;
 import io.konveyor.tackle.core.internal.symbol.CustomASTVisitor.QueryLocation;
 
-public class ConstructorCallSymbolProvider implements SymbolProvider, WithQuery {
-    public String query;
+public class ConstructorCallSymbolProvider implements SymbolProvider, DefaultSymbolProvider.MatchHandler {
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
         List<SymbolInformation> symbols = new ArrayList<>();
+        handle(match, context, symbols);
+        return symbols;
+    }
+
+    @Override
+    public boolean handle(SearchMatch match, SearchContext context, List<SymbolInformation> symbols) throws CoreException {
+        RuleQuery query = context.getQuery();
+        BatchedASTVerifier batchedASTVerifier = context.getBatchedASTVerifier();
+        boolean handled = false;
         var el = (JavaElement) match.getElement();
         logInfo("el: " + el);
         try {
             MethodReferenceMatch m = (MethodReferenceMatch) match;
             var mod  = (IMethod) m.getElement();
             
-            SymbolInformation symbol = new SymbolInformation();
-            Location location = getLocation(mod, match);
-            symbol.setName(mod.getElementName());
             // If the search match is for a constructor, the enclosing element may not be a constructor.
             if (m.isConstructor()) {
                 logInfo("here: " + mod + " is constructor");
-                symbol.setKind(SymbolKind.Constructor);
             } else {
                 logInfo("Method reference was not a constructor, skipping");
-                return null;
+                return false;
             }
-            symbol.setContainerName(mod.getParent().getElementName());
-            symbol.setLocation(location);
-            logInfo("Location; " + location);
-
-            IJavaElement element = JDTUtils.findElementAtSelection(mod.getTypeRoot(), location.getRange().getStart().getLine(), location.getRange().getStart().getCharacter(), JavaLanguageServerPlugin.getPreferencesManager(), new NullProgressMonitor());
-
-            logInfo("je" + element);
-
+            // the location is computed once the match is confirmed
+            MatchRecord record = new MatchRecord(mod, match, mod.getElementName(), SymbolKind.Constructor, mod.getParent().getElementName());
 
-            
-            if (this.query.contains(".")) {
+            if (query.isQualified()) {
                 ICompilationUnit unit = mod.getCompilationUnit();
                 if (unit == null) {
                     IClassFile cls = (IClassFile) ((IJavaElement) mod).getAncestor(IJavaElement.CLASS_FILE);
@@ -66,15 +58,18 @@ public class ConstructorCallSymbolProvider implements SymbolProvider, WithQuery
                         unit = cls.getWorkingCopy(new WorkingCopyOwnerImpl(), null);
                     }
                 }
-                ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
-                astParser.setSource(unit);
-                astParser.setResolveBindings(true);
-                CompilationUnit cu = (CompilationUnit) astParser.createAST(null);
-                CustomASTVisitor visitor = new CustomASTVisitor(query, match, QueryLocation.CONSTRUCTOR_CALL);
-                // Under tests, resolveConstructorBinding will return null if there are problems
+                if (batchedASTVerifier != null && batchedASTVerifier.accepts(unit)) {
+                    // bindings are resolved for all the source matches at once after the search
+                    batchedASTVerifier.add(unit, record, query, QueryLocation.CONSTRUCTOR_CALL);
+                    return true;
+                }
+                // only the body holding the invocation is needed to check its binding
+                CompilationUnit cu = BatchedASTVerifier.parse(unit, ParseProfile.FOCAL, match.getOffset());
+                CustomASTVisitor visitor = new CustomASTVisitor(query, match, QueryLocation.CONSTRUCTOR_CALL, context.getTypeHierarchyCache());
                 cu.accept(visitor);
                 if (visitor.symbolMatches()) {
-                    symbols.add(symbol);
+                    context.accept(record, symbols);
+                    handled = true;
                 }
                 if (unit != null && unit.isWorkingCopy())  {
                     synchronized (SymbolProvider.LOCATION_LOCK) {
@@ -83,18 +78,13 @@ public class ConstructorCallSymbolProvider implements SymbolProvider, WithQuery
                     }
                 }
             } else {
-                symbols.add(symbol);
+                context.accept(record, symbols);
+                handled = true;
             }
         } catch (Exception e) {
             logInfo("unable to get constructor: " + e);
-            return null;
+            return false;
         }
-        return symbols;
-    }
-
-    @Override
-    public void setQuery(String query) {
-        // TODO Auto-generated method stub
-        this.query = query;
+        return handled;
     }
 }
@@ -2,11 +2,7 @@ package io.konveyor.tackle.core.internal.symbol;
 
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.ASTVisitor;
@@ -22,6 +18,8 @@ import org.eclipse.jdt.core.dom.NormalAnnotation;
 import org.eclipse.jdt.core.dom.SingleMemberAnnotation;
 import org.eclipse.jdt.core.search.SearchMatch;
 
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
 /*
  * SearchEngine we use often gives us more matches than needed when
  * query contains a * and/or contains a fqn. e.g. java.io.paths.get* 
@@ -32,10 +30,12 @@ import org.eclipse.jdt.core.search.SearchMatch;
  */
 public class CustomASTVisitor extends ASTVisitor {
     private String query;
+    private RuleQuery ruleQuery;
     private SearchMatch match;
     private boolean symbolMatches;
     private QueryLocation location;
     private List<String> queryParameterTypes;
+    private TypeHierarchyCache typeHierarchyCache;
 
     /* 
      * we re-use this same class for different locations in a query
@@ -48,20 +48,29 @@ public class CustomASTVisitor extends ASTVisitor {
     }
 
     public CustomASTVisitor(String query, SearchMatch match, QueryLocation location) {
+        this(query, match, location, new TypeHierarchyCache());
+    }
+
+    public CustomASTVisitor(String query, SearchMatch match, QueryLocation location, TypeHierarchyCache typeHierarchyCache) {
+        this(RuleQuery.compile(query), match, location, typeHierarchyCache);
+    }
+
+    public CustomASTVisitor(RuleQuery ruleQuery, SearchMatch match, QueryLocation location, TypeHierarchyCache typeHierarchyCache) {
         /*
-         * Extract parameter types from the query pattern if present
+         * The parameter types come from the query pattern if present
          * e.g., "java.util.Properties.setProperty(java.lang.String, java.lang.String)"
-         * We'll extract ["java.lang.String", "java.lang.String"] and strip only that parameter list
+         * gives ["java.lang.String", "java.lang.String"] and only that parameter list is stripped
          * from the query for FQN matching — not parenthetical alternation like "pkg.(A|B)".
          */
-        ParameterParseResult parsed = parseParameterList(query);
-        this.queryParameterTypes = parsed.types;
-        this.query = buildFqnRegexPattern(parsed, query);
+        this.queryParameterTypes = ruleQuery.getParameterTypes();
+        this.query = ruleQuery.getFqnPattern();
+        this.ruleQuery = ruleQuery;
         this.symbolMatches = false;
         this.match = match;
         // depending on which location the query was for we only want to
         // visit certain nodes
         this.location = location;
+        this.typeHierarchyCache = typeHierarchyCache;
     }
 
     /*
@@ -113,8 +122,8 @@ public class CustomASTVisitor extends ASTVisitor {
                         declaringClass = declaringClass.getErasure();
                     }
                     String fullyQualifiedName = declaringClass.getQualifiedName();
-                    // match fqn with query pattern using regex
-                    boolean matches = fullyQualifiedName.matches(this.query);
+                    // match fqn with query pattern
+                    boolean matches = this.ruleQuery.matchesFqn(fullyQualifiedName);
                     if (matches) {
                         this.symbolMatches = true;
                         return false;
@@ -159,7 +168,7 @@ public class CustomASTVisitor extends ASTVisitor {
                     }
                     String fullyQualifiedName = declaringClass.getQualifiedName() + "." + binding.getName();
                     // match fqn with query pattern
-                    if (fullyQualifiedName.matches(this.query)) {
+                    if (this.ruleQuery.matchesFqn(fullyQualifiedName)) {
                         // Check parameter types if specified in the query
                         ITypeBinding[] parameterTypes = binding.getParameterTypes();
                         if (matchesParameterTypes(parameterTypes)) {
@@ -211,7 +220,7 @@ public class CustomASTVisitor extends ASTVisitor {
                     }
                     String fullyQualifiedName = declaringClass.getQualifiedName();
                     // match fqn with query pattern
-                    if (fullyQualifiedName.matches(this.query)) {
+                    if (this.ruleQuery.matchesFqn(fullyQualifiedName)) {
                         // Check parameter types if specified in the query
                         ITypeBinding[] parameterTypes = binding.getParameterTypes();
                         if (matchesParameterTypes(parameterTypes)) {
@@ -263,7 +272,7 @@ public class CustomASTVisitor extends ASTVisitor {
                     }
                     String fullyQualifiedName = declaringClass.getQualifiedName();
                     // match fqn with query pattern
-                    if (fullyQualifiedName.matches(this.query)) {
+                    if (this.ruleQuery.matchesFqn(fullyQualifiedName)) {
                         // Check parameter types if specified in the query
                         ITypeBinding[] parameterTypes = binding.getParameterTypes();
                         if (matchesParameterTypes(parameterTypes)) {
@@ -326,59 +335,18 @@ public class CustomASTVisitor extends ASTVisitor {
         if (parsed.types != null) {
             processed = query.substring(0, parsed.paramOpenIndex) + query.substring(parsed.paramCloseIndex + 1);
         }
-        return processed.replaceAll("(?<!\\.)\\*", ".*");
+        return RuleQuery.toRegex(processed);
     }
 
     /**
-     * Parses the query for a trailing Java formal parameter list (first {@code '('} through last {@code ')'})
-     * when heuristics indicate alternation groups like {@code pkg.(A|B)} are not in play.
+     * Parses the query for a trailing Java formal parameter list, see {@link RuleQuery#parseParameterList(String)}.
      */
     static ParameterParseResult parseParameterList(String query) {
-        int openParen = query.indexOf('(');
-        if (openParen == -1) {
+        RuleQuery.ParameterList parameters = RuleQuery.parseParameterList(query);
+        if (parameters == null) {
             return ParameterParseResult.none();
         }
-
-        int closeParen = query.lastIndexOf(')');
-        if (closeParen == -1 || openParen >= closeParen) {
-            return ParameterParseResult.none();
-        }
-
-        String potentialParams = query.substring(openParen + 1, closeParen);
-        if (potentialParams.contains("|")) {
-            return ParameterParseResult.none();
-        }
-
-        String afterParen = query.substring(closeParen + 1).trim();
-        if (afterParen.length() > 0 && !afterParen.matches("\\**")) {
-            return ParameterParseResult.none();
-        }
-
-        String paramsString = potentialParams.trim();
-        if (paramsString.isEmpty()) {
-            return ParameterParseResult.withTypes(Collections.emptyList(), openParen, closeParen);
-        }
-
-        List<String> params = new ArrayList<>(4);
-
-        int depth = 0;
-        int start = 0;
-        int length = paramsString.length();
-
-        for (int i = 0; i < length; i++) {
-            char c = paramsString.charAt(i);
-            if (c == '<') {
-                depth++;
-            } else if (c == '>') {
-                depth--;
-            } else if (c == ',' && depth == 0) {
-                params.add(paramsString.substring(start, i).trim());
-                start = i + 1;
-            }
-        }
-        params.add(paramsString.substring(start).trim());
-
-        return ParameterParseResult.withTypes(params, openParen, closeParen);
+        return ParameterParseResult.withTypes(parameters.getTypes(), parameters.getOpenIndex(), parameters.getCloseIndex());
     }
 
     /**
@@ -476,15 +444,15 @@ public class CustomASTVisitor extends ASTVisitor {
         }
 
         // Subtype matching: check if actualType is assignable to queryType
-        // Only do this expensive check if exact match failed
-        return isSubtypeOf(actualType, normalizedQueryType, actualTypeName, new HashSet<>());
+        // the supertype closure is computed once per type for the whole search
+        return typeHierarchyCache.isSubtypeOf(actualType, normalizedQueryType);
     }
 
     /**
      * Gets the fully qualified name of a type, including generic parameters.
      * e.g., "java.util.List<java.lang.String>"
      */
-    private String getQualifiedTypeName(ITypeBinding type) {
+    static String getQualifiedTypeName(ITypeBinding type) {
         if (type == null) {
             return "";
         }
@@ -521,75 +489,6 @@ public class CustomASTVisitor extends ASTVisitor {
         return baseName;
     }
 
-    /**
-     * Checks if actualType is a subtype of (or equal to) queryTypeName.
-     * Walks up the type hierarchy checking superclasses and interfaces.
-     *
-     * @param actualType the type to check
-     * @param queryTypeName the query type name to match against
-     * @param actualTypeName cached qualified name of actualType (performance optimization)
-     * @param visited set of already visited types to prevent infinite loops
-     */
-    private boolean isSubtypeOf(ITypeBinding actualType, String queryTypeName,
-                                String actualTypeName, Set<String> visited) {
-        if (actualType == null) {
-            return false;
-        }
-
-        // Performance: Check if we already examined this type (cycle detection)
-        String typeKey = actualType.getKey();
-        if (typeKey != null && !visited.add(typeKey)) {
-            return false;  // Already visited, avoid infinite loop
-        }
-
-        // Use cached actualTypeName (already computed in typeMatches)
-        if (queryTypeName.equals(actualTypeName)) {
-            return true;
-        }
-
-        // Performance: Quick check of superclass before recursing
-        ITypeBinding superclass = actualType.getSuperclass();
-        if (superclass != null) {
-            // Quick check: does superclass name match before recursing?
-            ITypeBinding superErasure = superclass.getErasure();
-            if (superErasure != null) {
-                String superName = superErasure.getQualifiedName();
-                if (queryTypeName.equals(superName)) {
-                    return true;
-                }
-            }
-
-            // Recurse to check full hierarchy
-            String superTypeName = getQualifiedTypeName(superclass);
-            if (isSubtypeOf(superclass, queryTypeName, superTypeName, visited)) {
-                return true;
-            }
-        }
-
-        // Performance: Check interfaces with same optimization
-        ITypeBinding[] interfaces = actualType.getInterfaces();
-        if (interfaces != null && interfaces.length > 0) {
-            for (ITypeBinding interfaceType : interfaces) {
-                // Quick check erasure name first
-                ITypeBinding intfErasure = interfaceType.getErasure();
-                if (intfErasure != null) {
-                    String intfName = intfErasure.getQualifiedName();
-                    if (queryTypeName.equals(intfName)) {
-                        return true;
-                    }
-                }
-
-                // Recurse to check full hierarchy
-                String intfTypeName = getQualifiedTypeName(interfaceType);
-                if (isSubtypeOf(interfaceType, queryTypeName, intfTypeName, visited)) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
-    }
-
     public boolean symbolMatches() {
         return this.symbolMatches;
     }
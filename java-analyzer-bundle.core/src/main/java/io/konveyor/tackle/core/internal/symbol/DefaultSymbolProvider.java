@@ -9,34 +9,33 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.lsp4j.SymbolInformation;
 
-public class DefaultSymbolProvider implements SymbolProvider, WithQuery, WithMaxResults {
-    private List<SymbolProvider> defaultProviders;
+public class DefaultSymbolProvider implements SymbolProvider {
+    // For a given search match, we should not find more than 100.
+    //TODO: come back and make this configurable.
+    private static final int MAX_RESULTS_PER_MATCH = 100;
 
-    public DefaultSymbolProvider() {
-        this. defaultProviders= new ArrayList<SymbolProvider>();
-        this. defaultProviders.add(new MethodCallSymbolProvider());
-        this.defaultProviders.add(new ConstructorCallSymbolProvider());
-        this.defaultProviders.add(new ImportSymbolProvider());
-        this.defaultProviders.add( new TypeSymbolProvider());
-    }
-
-    private int maxResults; 
-    private String query;
+    private static final List<SymbolProvider> defaultProviders = List.of(
+            new MethodCallSymbolProvider(),
+            new ConstructorCallSymbolProvider(),
+            new ImportSymbolProvider(),
+            new TypeSymbolProvider());
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
 
         // Given a default search match, we have to ask each individual 
         List<SymbolInformation> symbols = new ArrayList<SymbolInformation>();
         for (SymbolProvider p: defaultProviders) {
-            if (p instanceof WithQuery) {
-                ((WithQuery) p).setQuery(this.query);
-            }
-            if (p instanceof WithMaxResults) {
-                ((WithMaxResults) p).setMaxResultes(this.maxResults);
-            }
             logInfo("default provider: " + p);
-            var specificSymbols = p.get(match);
+            if (p instanceof MatchHandler) {
+                // the symbols of a handled match may have gone to the results of the search, or be
+                // deferred, so the provider tells whether it took the match
+                if (((MatchHandler) p).handle(match, context, symbols)) {
+                    break;
+                }
+                continue;
+            }
+            var specificSymbols = p.get(match, context);
             if (specificSymbols == null || specificSymbols.isEmpty()) {
                 continue;
             }
@@ -44,7 +43,7 @@ public class DefaultSymbolProvider implements SymbolProvider, WithQuery, WithMax
             logInfo("got Symbols: " + specificSymbols.size());
             // Have to handle here, the search matches can not ballon
             // for now this will be fine
-            if (this.maxResults != 0 && symbols.size() >= this.maxResults) {
+            if (symbols.size() >= MAX_RESULTS_PER_MATCH) {
                 return symbols;
             }
             break; // break here to avoid Type and IMPORT providers returning duplicate matches
@@ -52,15 +51,11 @@ public class DefaultSymbolProvider implements SymbolProvider, WithQuery, WithMax
         return symbols;
     }
 
-    @Override
-    public void setMaxResultes(int maxResults) {
-        // For a given search match, we should not find more than 100.
-        //TODO: come back and make this configurable.
-        this.maxResults = 100;
-    }
-
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
+    /**
+     * A provider that tells whether it took a match, accepted (see {@link SearchContext#accept})
+     * or deferred to the {@link BatchedASTVerifier}, the next providers are not asked then.
+     */
+    interface MatchHandler {
+        boolean handle(SearchMatch match, SearchContext context, List<SymbolInformation> symbols) throws CoreException;
     }
 }
@@ -16,11 +16,10 @@ import org.eclipse.lsp4j.SymbolInformation;
  * Enum constants are special fields, so we search for fields and filter
  * for enum constants using IField.isEnumConstant().
  */
-public class EnumConstantSymbolProvider implements SymbolProvider, WithQuery {
-    private String query;
+public class EnumConstantSymbolProvider implements SymbolProvider {
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
             IJavaElement element = (IJavaElement) match.getElement();
@@ -45,9 +44,4 @@ public class EnumConstantSymbolProvider implements SymbolProvider, WithQuery {
 
         return symbols;
     }
-
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
-    }
 }
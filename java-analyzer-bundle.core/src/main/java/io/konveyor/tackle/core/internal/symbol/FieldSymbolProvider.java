@@ -9,7 +9,6 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.regex.Pattern;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
 import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.jdt.core.IAnnotation;
 import org.eclipse.jdt.core.IClassFile;
@@ -34,11 +33,9 @@ import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
-public class FieldSymbolProvider implements SymbolProvider, WithQuery, WithAnnotationQuery {
-    private String query;
-    private AnnotationQuery annotationQuery;
+public class FieldSymbolProvider implements SymbolProvider, WithAnnotationQuery {
 
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
@@ -52,7 +49,7 @@ public class FieldSymbolProvider implements SymbolProvider, WithQuery, WithAnnot
 
             List<Class<? extends SourceRefElement>> classes = new ArrayList<>();
             classes.add(ResolvedSourceField.class);
-            if (matchesAnnotationQuery(match, classes)) {
+            if (matchesAnnotationQuery(match, classes, context)) {
                 symbols.add(symbol);
             }
         } catch (Exception e) {
@@ -61,18 +58,4 @@ public class FieldSymbolProvider implements SymbolProvider, WithQuery, WithAnnot
 
         return symbols;
     }
-
-    public void setQuery(String query) {
-        this.query = query;
-    }
-
-    @Override
-    public AnnotationQuery getAnnotationQuery() {
-        return this.annotationQuery;
-    }
-
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
-
 }
@@ -5,20 +5,19 @@ import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 import java.util.ArrayList;
 import java.util.List;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.jdt.internal.core.ResolvedSourceMethod;
 import org.eclipse.jdt.internal.core.ResolvedSourceType;
+import org.eclipse.jdt.internal.core.SourceType;
 import org.eclipse.jdt.internal.core.SourceRefElement;
 import org.eclipse.lsp4j.SymbolInformation;
 
 public class ImplementsTypeSymbolProvider implements SymbolProvider, WithAnnotationQuery {
-    private AnnotationQuery annotationQuery;
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
             IType mod = (IType) match.getElement();
@@ -35,7 +34,9 @@ public class ImplementsTypeSymbolProvider implements SymbolProvider, WithAnnotat
 
             List<Class<? extends SourceRefElement>> classes = new ArrayList<>();
             classes.add(ResolvedSourceType.class);
-            if (matchesAnnotationQuery(match, classes)) {
+            // types found in the workspace type hierarchy are not resolved
+            classes.add(SourceType.class);
+            if (matchesAnnotationQuery(match, classes, context)) {
                 symbols.add(symbol);
             }
         } catch (Exception e) {
@@ -44,14 +45,4 @@ public class ImplementsTypeSymbolProvider implements SymbolProvider, WithAnnotat
         }
         return symbols;
     }
-
-    @Override
-    public AnnotationQuery getAnnotationQuery() {
-        return this.annotationQuery;
-    }
-
-    @Override
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
 }
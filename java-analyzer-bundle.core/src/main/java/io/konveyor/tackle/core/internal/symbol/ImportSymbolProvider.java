@@ -13,7 +13,7 @@ import org.eclipse.lsp4j.SymbolInformation;
 
 public class ImportSymbolProvider implements SymbolProvider {
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
             IImportDeclaration mod = (IImportDeclaration) match.getElement();
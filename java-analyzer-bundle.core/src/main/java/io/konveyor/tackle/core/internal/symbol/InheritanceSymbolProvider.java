@@ -13,7 +13,7 @@ import org.eclipse.lsp4j.SymbolKind;
 
 public class InheritanceSymbolProvider implements SymbolProvider {
     @Override
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
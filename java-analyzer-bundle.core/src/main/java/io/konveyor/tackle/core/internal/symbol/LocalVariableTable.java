@@ -0,0 +1,112 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.SimpleName;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.VariableDeclarationFragment;
+import org.eclipse.jdt.core.dom.VariableDeclarationStatement;
+
+/*
+ * The local variable declaration statements of a compilation unit, keyed by the source range of
+ * their declared type. The unit is parsed once (without bindings) and the table is kept in the
+ * SearchContext, so telling whether a type reference declares local variables is a binary search
+ * over the type ranges instead of a parse per match.
+ */
+public class LocalVariableTable {
+
+    public static final LocalVariableTable EMPTY = new LocalVariableTable(new int[0], new int[0], new ArrayList<>());
+
+    // declared type ranges in source order, statements do not overlap each other's type
+    private final int[] typeStarts;
+    private final int[] typeEnds;
+    private final List<List<LocalVariable>> variables;
+
+    private LocalVariableTable(int[] typeStarts, int[] typeEnds, List<List<LocalVariable>> variables) {
+        this.typeStarts = typeStarts;
+        this.typeEnds = typeEnds;
+        this.variables = variables;
+    }
+
+    public static LocalVariableTable of(ICompilationUnit unit) {
+        try {
+            return of(BatchedASTVerifier.parse(unit, ParseProfile.FULL, 0, false));
+        } catch (Exception e) {
+            logInfo("KONVEYOR_LOG: unable to read local variables of " + unit.getElementName() + ": " + e);
+            return EMPTY;
+        }
+    }
+
+    static LocalVariableTable of(CompilationUnit cu) {
+        List<Type> types = new ArrayList<>();
+        List<List<LocalVariable>> variables = new ArrayList<>();
+        cu.accept(new ASTVisitor() {
+            @Override
+            public boolean visit(VariableDeclarationStatement node) {
+                List<LocalVariable> fragments = new ArrayList<>(node.fragments().size());
+                for (Object obj : node.fragments()) {
+                    SimpleName name = ((VariableDeclarationFragment) obj).getName();
+                    fragments.add(new LocalVariable(name.getIdentifier(), name.getStartPosition(), name.getLength()));
+                }
+                types.add(node.getType());
+                variables.add(fragments);
+                // statements nested in initializers (lambdas, anonymous classes) come after the type
+                return true;
+            }
+        });
+        int[] typeStarts = new int[types.size()];
+        int[] typeEnds = new int[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            typeStarts[i] = types.get(i).getStartPosition();
+            typeEnds[i] = typeStarts[i] + types.get(i).getLength();
+        }
+        return new LocalVariableTable(typeStarts, typeEnds, variables);
+    }
+
+    /**
+     * The variables declared by the statement whose type contains the offset, empty when the
+     * offset is not in the type of a local variable declaration statement.
+     */
+    public List<LocalVariable> lookup(int offset) {
+        int index = Arrays.binarySearch(typeStarts, offset);
+        if (index < 0) {
+            // the last type starting before the offset
+            index = -index - 2;
+        }
+        if (index < 0 || offset >= typeEnds[index]) {
+            return List.of();
+        }
+        return variables.get(index);
+    }
+
+    public static final class LocalVariable {
+        private final String name;
+        private final int offset;
+        private final int length;
+
+        private LocalVariable(String name, int offset, int length) {
+            this.name = name;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+}
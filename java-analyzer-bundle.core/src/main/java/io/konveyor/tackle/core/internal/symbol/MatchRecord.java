@@ -0,0 +1,88 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IOpenable;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.jdt.ls.core.internal.JDTUtils;
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+
+/*
+ * A candidate symbol before it is turned into lsp4j types: the element and match it comes from,
+ * its name, kind and container. Candidates waiting for verification, and the ones dropped as
+ * duplicates, never get their location computed (line and column lookups in the unit buffer),
+ * nor a SymbolInformation, Location and Range allocated.
+ */
+public class MatchRecord {
+    private final IJavaElement element;
+    private final SearchMatch match;
+    private final String name;
+    private final SymbolKind kind;
+    private final String containerName;
+
+    public MatchRecord(IJavaElement element, SearchMatch match, String name, SymbolKind kind, String containerName) {
+        this.element = element;
+        this.match = match;
+        this.name = name;
+        this.kind = kind;
+        this.containerName = containerName;
+    }
+
+    public IJavaElement getElement() {
+        return element;
+    }
+
+    public SearchMatch getMatch() {
+        return match;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SymbolKind getKind() {
+        return kind;
+    }
+
+    /**
+     * The handle identifier of the compilation unit or class file holding the match, null when
+     * there is none.
+     */
+    public String getUnitHandle() {
+        IOpenable openable = element.getOpenable();
+        return openable instanceof IJavaElement ? ((IJavaElement) openable).getHandleIdentifier() : null;
+    }
+
+    public int getOffset() {
+        return match.getOffset();
+    }
+
+    public int getLength() {
+        return match.getLength();
+    }
+
+    /**
+     * The URI the location of the symbol will have. Only source units know it without computing
+     * the whole location.
+     */
+    public String getUri() throws JavaModelException {
+        ICompilationUnit unit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
+        if (unit != null) {
+            return JDTUtils.toUri(unit);
+        }
+        Location location = SymbolProvider.locate(element, match);
+        return location != null ? location.getUri() : null;
+    }
+
+    public SymbolInformation toSymbolInformation() throws JavaModelException {
+        SymbolInformation symbol = new SymbolInformation();
+        symbol.setName(name);
+        symbol.setKind(kind);
+        symbol.setContainerName(containerName);
+        symbol.setLocation(SymbolProvider.locate(element, match));
+        return symbol;
+    }
+}
@@ -10,36 +10,39 @@ import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IField;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
-import org.eclipse.jdt.core.compiler.IProblem;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.search.MethodReferenceMatch;
 import org.eclipse.jdt.core.search.SearchMatch;
-import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
-import org.eclipse.lsp4j.SymbolKind;
 
+import io.konveyor.tackle.core.internal.query.RuleQuery;
 import io.konveyor.tackle.core.internal.symbol.CustomASTVisitor.QueryLocation;
 
-public class MethodCallSymbolProvider implements SymbolProvider, WithQuery {
-    private String query;
+public class MethodCallSymbolProvider implements SymbolProvider, DefaultSymbolProvider.MatchHandler {
     
     @Override
-    public List<SymbolInformation> get(SearchMatch match) {
-        SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         List<SymbolInformation> symbols = new ArrayList<>();
+        handle(match, context, symbols);
+        return symbols;
+    }
+
+    @Override
+    public boolean handle(SearchMatch match, SearchContext context, List<SymbolInformation> symbols) {
+        RuleQuery query = context.getQuery();
+        BatchedASTVerifier batchedASTVerifier = context.getBatchedASTVerifier();
+        boolean handled = false;
         // For Method Calls we will need to do the local variable trick
         try {
             MethodReferenceMatch m = (MethodReferenceMatch) match;
             IJavaElement e = (IJavaElement) m.getElement();
-            SymbolInformation symbol = new SymbolInformation();
-            Location location = getLocation((IJavaElement) match.getElement(), match);
-            symbol.setName(e.getElementName());
-            symbol.setKind(convertSymbolKind(e));
-            symbol.setContainerName(e.getParent().getElementName());
-            symbol.setLocation(location); 
-            if (this.query.contains(".")) { 
+            // the location is computed once the match is confirmed
+            MatchRecord record = new MatchRecord(e, match, e.getElementName(), convertSymbolKind(e), e.getParent().getElementName());
+            if (query.isQualified()) { 
+                if (m.isConstructor()) {
+                    // only method invocations are checked, constructor calls are left to the ConstructorCallSymbolProvider
+                    return false;
+                }
                 ICompilationUnit unit = null;
                 if (m.getElement() instanceof IMethod) {
                     unit = ((IMethod) m.getElement()).getCompilationUnit();
@@ -53,30 +56,19 @@ public class MethodCallSymbolProvider implements SymbolProvider, WithQuery {
                         unit = cls.getWorkingCopy(new WorkingCopyOwnerImpl(), null);
                     }
                 }
-                if (this.queryQualificationMatches(this.query, e, unit, location)) {
-                    ASTParser astParser = ASTParser.newParser(AST.getJLSLatest());
-                    astParser.setSource(unit);
-                    astParser.setResolveBindings(true);
-                    CompilationUnit cu = (CompilationUnit) astParser.createAST(null);
-                    CustomASTVisitor visitor = new CustomASTVisitor(query, match, QueryLocation.METHOD_CALL);
-                    // Under tests, resolveConstructorBinding will return null if there are problems
-                    IProblem[] problems = cu.getProblems();
-                    if (problems != null && problems.length > 0) {
-                        logInfo("KONVEYOR_LOG: " + "Found " + problems.length + " problems while compiling");
-                        int count = 0;
-                        for (IProblem problem : problems) {
-                            logInfo("KONVEYOR_LOG: Problem - ID: " + problem.getID() + " Message: " + problem.getMessage());
-                            count++;
-                            if (count >= SymbolProvider.MAX_PROBLEMS_TO_LOG) {
-                                logInfo("KONVEYOR_LOG: Only showing first " + SymbolProvider.MAX_PROBLEMS_TO_LOG + " problems, " +
-                                       (problems.length - SymbolProvider.MAX_PROBLEMS_TO_LOG) + " more not displayed");
-                                break;
-                            }
-                        }
+                if (this.queryQualificationMatches(query, e, unit, record.getUri())) {
+                    if (batchedASTVerifier != null && batchedASTVerifier.accepts(unit)) {
+                        // bindings are resolved for all the source matches at once after the search
+                        batchedASTVerifier.add(unit, record, query, QueryLocation.METHOD_CALL);
+                        return true;
                     }
+                    // only the body holding the invocation is needed to check its binding
+                    CompilationUnit cu = BatchedASTVerifier.parse(unit, ParseProfile.FOCAL, match.getOffset());
+                    CustomASTVisitor visitor = new CustomASTVisitor(query, match, QueryLocation.METHOD_CALL, context.getTypeHierarchyCache());
                     cu.accept(visitor);
                     if (visitor.symbolMatches()) {
-                        symbols.add(symbol);
+                        context.accept(record, symbols);
+                        handled = true;
                     }
                 }
                 if (unit != null) {
@@ -86,16 +78,13 @@ public class MethodCallSymbolProvider implements SymbolProvider, WithQuery {
                     }
                 }
             } else {
-                symbols.add(symbol);
+                context.accept(record, symbols);
+                handled = true;
             }
         } catch (Exception e) {
             logInfo("unable to convert for variable: " + e);
         }
 
-        return symbols;
-    }
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
+        return handled;
     }
 }
@@ -5,7 +5,6 @@ import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 import java.util.ArrayList;
 import java.util.List;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
 import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.IMethod;
 import org.eclipse.jdt.core.search.SearchMatch;
@@ -16,11 +15,9 @@ import org.eclipse.jdt.internal.core.SourceRefElement;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
-public class MethodDeclarationSymbolProvider implements SymbolProvider, WithQuery, WithAnnotationQuery {
-    private String query;
-    private AnnotationQuery annotationQuery;
+public class MethodDeclarationSymbolProvider implements SymbolProvider, WithAnnotationQuery {
 
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
@@ -35,7 +32,7 @@ public class MethodDeclarationSymbolProvider implements SymbolProvider, WithQuer
             List<Class<? extends SourceRefElement>> classes = new ArrayList<>();
             classes.add(ResolvedSourceMethod.class);
             classes.add(SourceMethod.class);
-            if (matchesAnnotationQuery(match, classes)) {
+            if (matchesAnnotationQuery(match, classes, context)) {
                 symbols.add(symbol);
             }
         } catch (Exception e) {
@@ -44,18 +41,4 @@ public class MethodDeclarationSymbolProvider implements SymbolProvider, WithQuer
 
         return symbols;
     }
-
-    public void setQuery(String query) {
-        this.query = query;
-    }
-
-    @Override
-    public AnnotationQuery getAnnotationQuery() {
-        return this.annotationQuery;
-    }
-
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
-
 }
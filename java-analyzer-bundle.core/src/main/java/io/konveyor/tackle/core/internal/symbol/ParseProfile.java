@@ -0,0 +1,57 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.ILocalVariable;
+import org.eclipse.jdt.core.IMember;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.ASTParser;
+
+/*
+ * How much of a compilation unit a provider needs parsed (and resolved) to verify a match.
+ * Statement bodies are most of the cost of a parse with bindings, checks that only look at
+ * declarations, or at the one body containing the match, should not pay for all of them.
+ */
+public enum ParseProfile {
+    // every body is parsed, needed when many offsets of the unit are checked at once
+    FULL,
+    // method bodies are skipped, for declaration level checks like annotations on members
+    DECLARATIONS,
+    // only the body containing the match offset is parsed
+    FOCAL;
+
+    void configure(ASTParser parser, int offset) {
+        switch (this) {
+            case DECLARATIONS:
+                parser.setIgnoreMethodBodies(true);
+                break;
+            case FOCAL:
+                parser.setFocalPosition(offset);
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Declarations are enough for members of top level and member types, local variables and
+     * members of local or anonymous types live inside a body so only the focal one is kept.
+     */
+    public static ParseProfile forDeclaration(IJavaElement element) {
+        if (element instanceof ILocalVariable) {
+            return FOCAL;
+        }
+        if (element instanceof IMember) {
+            IType type = element instanceof IType ? (IType) element : ((IMember) element).getDeclaringType();
+            try {
+                if (type != null && (type.isLocal() || type.isAnonymous())) {
+                    return FOCAL;
+                }
+            } catch (JavaModelException e) {
+                return FOCAL;
+            }
+            return DECLARATIONS;
+        }
+        return FOCAL;
+    }
+}
@@ -11,11 +11,10 @@ import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
-public class ReferenceSymbolProvider implements SymbolProvider, WithQuery {
-    private String query;
+public class ReferenceSymbolProvider implements SymbolProvider {
     
     @Override
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind k = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         // For Method Calls we will need to do the local variable trick
@@ -35,8 +34,4 @@ public class ReferenceSymbolProvider implements SymbolProvider, WithQuery {
 
         return symbols;
     }
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
-    }
 }
@@ -11,37 +11,32 @@ import org.eclipse.jdt.core.Signature;
 import org.eclipse.jdt.core.search.SearchMatch;
 import org.eclipse.lsp4j.SymbolInformation;
 
-public class ReturnTypeSymbolProvider implements SymbolProvider, WithQuery {
-    private String query;
+
+public class ReturnTypeSymbolProvider implements SymbolProvider {
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) throws CoreException {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException {
         List<SymbolInformation> symbols = new ArrayList<>();
         try {
             IMethod method = (IMethod) match.getElement();
             String signature = method.getReturnType();
-            // Convert JVM type signature to readable type name (e.g., "I" -> "int")
-            String readableType = Signature.toString(signature);
-
-            String[] strings = this.query.split("\\.");
-            logInfo("signature: " + signature + " readable: " + readableType + " query: " + this.query);
-            for (String string : strings) {
-                // remove regex pattern match character
-                String s = string.replaceAll("\\*", "");
-                s = s.replaceAll("\\[", "");
-                // check if the string found is apart of the signature or readable type
-                // TODO: Handle array cases. need to map [] to [ at the beginning.
-                logInfo("signature: " + signature + " readable: " + readableType + " replaced string: " + s);
-                if (signature.contains(s) || readableType.contains(s)) {
-                    logInfo(s);
-                    SymbolInformation symbol = new SymbolInformation();
-                    symbol.setName(method.getElementName());
-                    symbol.setKind(convertSymbolKind(method));
-                    symbol.setContainerName(method.getParent().getElementName());
-                    symbol.setLocation(getLocation(method, match));
-                    symbols.add(symbol);
-                    return symbols;
-                }
+            // Convert JVM type signature to readable type name (e.g., "I" -> "int"), type arguments
+            // and array dimensions are checked separately from the type name
+            int dimensions = Signature.getArrayCount(signature);
+            String elementType = Signature.getTypeErasure(Signature.getElementType(signature));
+            String readableType = Signature.toString(elementType);
+            // unresolved types (source) are written the way they appear in the source, ie: String or Map.Entry
+            boolean qualified = Signature.getTypeSignatureKind(elementType) == Signature.BASE_TYPE_SIGNATURE
+                    || elementType.charAt(0) == Signature.C_RESOLVED;
+            logInfo("signature: " + signature + " readable: " + readableType + " query: " + context.getQuery().getQuery());
+            if (context.getQuery().matchesTypeName(readableType, dimensions, qualified)) {
+                SymbolInformation symbol = new SymbolInformation();
+                symbol.setName(method.getElementName());
+                symbol.setKind(convertSymbolKind(method));
+                symbol.setContainerName(method.getParent().getElementName());
+                symbol.setLocation(getLocation(method, match));
+                symbols.add(symbol);
+                return symbols;
             }
             return null;
         } catch (Exception e) {
@@ -49,9 +44,4 @@ public class ReturnTypeSymbolProvider implements SymbolProvider, WithQuery {
             return null;
         }
     }
-
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
-    }
 }
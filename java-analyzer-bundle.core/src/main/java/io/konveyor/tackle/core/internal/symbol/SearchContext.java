@@ -0,0 +1,133 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.lsp4j.SymbolInformation;
+
+import io.konveyor.tackle.core.internal.index.ImportTable;
+import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+/**
+ * Everything a {@link SymbolProvider} needs to know about the search a match belongs to.
+ *
+ * One context is created per search and shared by all of its matches, providers are
+ * stateless singletons that only read from it. The caches it holds are safe to use from
+ * several threads.
+ */
+public class SearchContext {
+    private final RuleQuery query;
+    private final AnnotationQuery annotationQuery;
+    private final int maxResults;
+    private final TypeHierarchyCache typeHierarchyCache;
+    private final BatchedASTVerifier batchedASTVerifier;
+    private final RecordSink recordSink;
+    // compilation unit handle identifier -> import table, units seldom change during a search
+    private final Map<String, ImportTable> importTables = new ConcurrentHashMap<>();
+    // compilation unit handle identifier -> resolved annotation types
+    private final Map<String, AnnotationBindingTable> annotationBindingTables = new ConcurrentHashMap<>();
+    // compilation unit handle identifier -> local variable declarations
+    private final Map<String, LocalVariableTable> localVariableTables = new ConcurrentHashMap<>();
+
+    public SearchContext(RuleQuery query, AnnotationQuery annotationQuery, int maxResults,
+                         TypeHierarchyCache typeHierarchyCache, BatchedASTVerifier batchedASTVerifier) {
+        this(query, annotationQuery, maxResults, typeHierarchyCache, batchedASTVerifier, null);
+    }
+
+    public SearchContext(RuleQuery query, AnnotationQuery annotationQuery, int maxResults,
+                         TypeHierarchyCache typeHierarchyCache, BatchedASTVerifier batchedASTVerifier, RecordSink recordSink) {
+        this.query = query;
+        this.annotationQuery = annotationQuery;
+        this.maxResults = maxResults;
+        this.typeHierarchyCache = typeHierarchyCache;
+        this.batchedASTVerifier = batchedASTVerifier;
+        this.recordSink = recordSink;
+    }
+
+    /**
+     * A context for a single query, without limits nor deferred verification.
+     */
+    public SearchContext(RuleQuery query, AnnotationQuery annotationQuery) {
+        this(query, annotationQuery, 0, new TypeHierarchyCache(), null);
+    }
+
+    public RuleQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * The annotation query of the rule entry, null when there is none.
+     */
+    public AnnotationQuery getAnnotationQuery() {
+        return annotationQuery;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public TypeHierarchyCache getTypeHierarchyCache() {
+        return typeHierarchyCache;
+    }
+
+    /**
+     * The verifier source matches can be deferred to, null when matches have to be verified on the spot.
+     */
+    public BatchedASTVerifier getBatchedASTVerifier() {
+        return batchedASTVerifier;
+    }
+
+    /**
+     * Hands a confirmed match over to the results of the search, which decide whether it is
+     * turned into a symbol. Without a sink the symbol is added to the ones the provider returns.
+     */
+    public void accept(MatchRecord record, List<SymbolInformation> symbols) throws JavaModelException {
+        if (recordSink != null) {
+            recordSink.accept(record);
+        } else {
+            symbols.add(record.toSymbolInformation());
+        }
+    }
+
+    /**
+     * The import table of a unit, built on first use and kept for the rest of the search.
+     */
+    public ImportTable getImportTable(ICompilationUnit unit) {
+        if (unit == null) {
+            return ImportTable.EMPTY;
+        }
+        return importTables.computeIfAbsent(unit.getHandleIdentifier(), k -> ImportTable.of(unit));
+    }
+
+    /**
+     * The resolved annotations of a unit, the unit is only parsed again when annotations inside
+     * bodies are asked for and the table was built from the declarations only.
+     */
+    public AnnotationBindingTable getAnnotationBindingTable(ICompilationUnit unit, boolean withBodies) {
+        String key = unit.getHandleIdentifier();
+        AnnotationBindingTable table = annotationBindingTables.get(key);
+        if (table == null || (withBodies && !table.hasBodies())) {
+            table = AnnotationBindingTable.of(unit, withBodies);
+            annotationBindingTables.put(key, table);
+        }
+        return table;
+    }
+
+    /**
+     * The local variable declarations of a unit, built on first use and kept for the rest of the search.
+     */
+    public LocalVariableTable getLocalVariableTable(ICompilationUnit unit) {
+        return localVariableTables.computeIfAbsent(unit.getHandleIdentifier(), k -> LocalVariableTable.of(unit));
+    }
+
+    /**
+     * Where the records confirmed by providers go, see {@link #accept}.
+     */
+    public interface RecordSink {
+        void accept(MatchRecord record) throws JavaModelException;
+    }
+}
@@ -29,11 +29,18 @@ import org.eclipse.lsp4j.Position;
 import org.eclipse.lsp4j.Range;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
+
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
 public interface SymbolProvider {
     public static final int MAX_PROBLEMS_TO_LOG = 10;
     Object LOCATION_LOCK = new Object();
 
-    List<SymbolInformation> get(SearchMatch match) throws CoreException;
+    /**
+     * Returns the symbols for a search match. Providers are shared between searches, everything
+     * specific to a search (the query, annotation query, caches) is read from the context.
+     */
+    List<SymbolInformation> get(SearchMatch match, SearchContext context) throws CoreException;
 
     default SymbolKind convertSymbolKind(IJavaElement element) {
         switch (element.getElementType()) {
@@ -96,6 +103,13 @@ public interface SymbolProvider {
     }
 
     default Location getLocation(IJavaElement element, SearchMatch match) throws JavaModelException {
+        return locate(element, match);
+    }
+
+    /**
+     * The location of a match in the source (or class file) of the element.
+     */
+    static Location locate(IJavaElement element, SearchMatch match) throws JavaModelException {
         ICompilationUnit compilationUnit = (ICompilationUnit) element.getAncestor(IJavaElement.COMPILATION_UNIT);
 		if (compilationUnit != null) {
             logInfo("found compliation unit for match: " + match);
@@ -159,7 +173,7 @@ public interface SymbolProvider {
         }
     }
     
-    private Range toRange(IOpenable openable, int offset, int length) throws Exception{
+    private static Range toRange(IOpenable openable, int offset, int length) throws Exception{
 		Range range = JDTUtils.newRange();
 		if (offset > 0 || length > 0) {
 			int[] loc = null;
@@ -196,82 +210,78 @@ public interface SymbolProvider {
      *  2. the compilation unit imports package `konveyor.io.Util` or `konveyor.io.*`
      *  3. the compilation unit has a package declaration as `konveyor.io.Util`
      * we do this so that we can rule out a lot of matches before going the AST route
+     * Queries with alternations are checked per alternative.
+     */
+    default boolean queryQualificationMatches(String query, IJavaElement matchedElement, ICompilationUnit unit, Location location) {
+        return queryQualificationMatches(RuleQuery.compile(query), matchedElement, unit, location);
+    }
+
+    default boolean queryQualificationMatches(RuleQuery query, IJavaElement matchedElement, ICompilationUnit unit, Location location) {
+        return queryQualificationMatches(query, matchedElement, unit, location != null ? location.getUri() : null);
+    }
+
+    /**
+     * Same as above with only the URI of the match location, so callers do not need the full location.
      */
-    default boolean queryQualificationMatches(String query, IJavaElement matchedElement,ICompilationUnit unit, Location location) {
+    default boolean queryQualificationMatches(RuleQuery query, IJavaElement matchedElement, ICompilationUnit unit, String uri) {
         // Make sure that the ICompilationUnit is conistant
         try {
             unit.makeConsistent(null);
         } catch(Exception e) {
             logInfo("unable to make unit consistant, will still try as could be class file in a jar" + e);
         }
-        // should consider parameter here
+        // the parameter list is already stripped from the alternatives
         // e.g. java.nio.file.Paths.get(String)/java.nio.file.Paths.get(*)  -> java.nio.file.Paths.get
-        // Remove any parentheses and their contents
-        query = query.replaceAll("\\([^|]*\\)", "");
-        query = query.replaceAll("(?<!\\.)\\*", ".*");
-        String queryQualification = "";
-        int dotIndex = query.lastIndexOf('.');
-        if (dotIndex > 0) {
-            // for a query, java.io.paths.File*, queryQualification is java.io.paths
-            queryQualification = query.substring(0, dotIndex);
-        }
-        // an element need not be imported if its referenced by fqn
-        if (!queryQualification.isEmpty() && (
-                matchedElement.getElementName().equals(queryQualification)
-             || matchedElement.getElementName().startsWith(queryQualification + ".")
-             || queryQualification.matches(matchedElement.getElementName())
-        )) {
-            return true;
-        }
-        String packageQueryQualification = "";
-        int packageDotIndex = queryQualification.lastIndexOf('.');
-        if (packageDotIndex > 0) {
+        String elementName = matchedElement.getElementName();
+        for (RuleQuery.Alternative alternative : query.getAlternatives()) {
             // for a query, java.io.paths.File*, queryQualification is java.io.paths
-            packageQueryQualification = queryQualification.substring(0, packageDotIndex);
-        }
-        // check if the match was found in the same package as the query was looking for
-        if (queryQualification != "" && location.getUri().contains(queryQualification.replaceAll("\\.", "/"))) {
-            return true;
+            String queryQualification = alternative.getQualification();
+            if (queryQualification.isEmpty()) {
+                continue;
+            }
+            // an element need not be imported if its referenced by fqn
+            if (elementName.equals(queryQualification)
+                    || elementName.startsWith(queryQualification + ".")
+                    || alternative.matchesQualification(elementName)) {
+                return true;
+            }
+            // check if the match was found in the same package as the query was looking for
+            if (uri != null && uri.contains(alternative.getQualificationPath())) {
+                return true;
+            }
         }
         if (unit != null) {
             try {
-                // check if the package declaration on the unit matches query
-                for (IPackageDeclaration packageDecl : unit.getPackageDeclarations()) {
-                    if (packageQueryQualification!= "" && packageDecl.getElementName().matches(packageQueryQualification)) {
-                        return true;
-                    }
-                }
-                for (IImportDeclaration importDecl : unit.getImports()) {
-                    String importElement = importDecl.getElementName();
-                    String importQualification = "";
-                    int importDotIndex = importElement.lastIndexOf('.');
-                    if (importDotIndex > 0) {
-                        importQualification = importElement.substring(0, importDotIndex);
-                    }
-                    // import can be absolute like java.io.paths.FileReader
-                    if (query.matches(importElement)) {
-                        return true;
-                    }
-                    if (importElement.matches(query)) {
-                        return true;
+                IPackageDeclaration[] packageDeclarations = unit.getPackageDeclarations();
+                IImportDeclaration[] imports = unit.getImports();
+                for (RuleQuery.Alternative alternative : query.getAlternatives()) {
+                    String queryQualification = alternative.getQualification();
+                    // check if the package declaration on the unit matches query
+                    for (IPackageDeclaration packageDecl : packageDeclarations) {
+                        if (alternative.matchesPackageQualification(packageDecl.getElementName())) {
+                            return true;
+                        }
                     }
-                    // an import can be java.io.paths.* or java.io.*
-                    if (importElement.contains("*")) {                     
-                        if (queryQualification != "") {
+                    for (IImportDeclaration importDecl : imports) {
+                        String importElement = importDecl.getElementName();
+                        // import can be absolute like java.io.paths.FileReader
+                        if (alternative.matches(importElement)) {
+                            return true;
+                        }
+                        // an import can be java.io.paths.* or java.io.*
+                        if (importElement.endsWith(".*")) {
+                            String importWithoutWildcard = importElement.substring(0, importElement.length() - 2);
                             // query is java.io.paths.File*, import is java.io.paths.*
-                            if (queryQualification.equals(importQualification) ||
-                                queryQualification.startsWith(importQualification + ".")) {
-                                return true;
-                            }
-                            String importWithoutWildcard = importElement.replace(".*", "");
-                            if (importWithoutWildcard.equals(queryQualification)) {
+                            if (!queryQualification.isEmpty() && (queryQualification.equals(importWithoutWildcard) ||
+                                    queryQualification.startsWith(importWithoutWildcard + "."))) {
                                 return true;
                             }
+                            continue;
+                        }
+                        //import can be java.nio.file.Path, query can be java.nio.file.Paths.get*
+                        if (alternative.getName().equals(importElement) || alternative.getName().startsWith(importElement + ".")) {
+                            return true;
                         }
-                    }
-                    //import can be java.nio.file.Path, query can be java.nio.file.Paths.get*
-                    if (query.equals(importElement) || query.startsWith(importElement + ".")) {
-                        return true;
                     }
                 }
             } catch (Exception e) {
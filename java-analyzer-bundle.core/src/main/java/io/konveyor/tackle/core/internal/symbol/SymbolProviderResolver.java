@@ -3,30 +3,35 @@ package io.konveyor.tackle.core.internal.symbol;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Supplier;
 
+/*
+ * Providers do not hold any per search state (see SearchContext), a single instance of each
+ * is shared by all the searches.
+ */
 public class SymbolProviderResolver {
-    private Map<Integer, Supplier<SymbolProvider>> map;
+    private static final SymbolProvider DEFAULT_PROVIDER = new DefaultSymbolProvider();
+    private static final Map<Integer, SymbolProvider> map = new HashMap<>();
+    static {
+        map.put(1, new InheritanceSymbolProvider());
+        map.put(2, new MethodCallSymbolProvider());
+        map.put(3, new ConstructorCallSymbolProvider());
+        map.put(4, new AnnotationSymbolProvider());
+        map.put(5, new ImplementsTypeSymbolProvider());
+        map.put(6, new EnumConstantSymbolProvider());
+        map.put(7, new ReturnTypeSymbolProvider());
+        map.put(8, new ImportSymbolProvider());
+        map.put(9, new VariableDeclarationSymbolProvider());
+        map.put(10, new TypeSymbolProvider());
+        map.put(11, new PackageDeclarationSymbolProvider());
+        map.put(12, new FieldSymbolProvider());
+        map.put(13, new MethodDeclarationSymbolProvider());
+        map.put(14, new ClassDeclarationSymbolProvider());
+    }
 
-    public SymbolProviderResolver() {
-        map = new HashMap<>();
-        map.put(1, InheritanceSymbolProvider::new);
-        map.put(2, MethodCallSymbolProvider::new);
-        map.put(3, ConstructorCallSymbolProvider::new);
-        map.put(4, AnnotationSymbolProvider::new);
-        map.put(5, ImplementsTypeSymbolProvider::new);
-        map.put(6, EnumConstantSymbolProvider::new);
-        map.put(7, ReturnTypeSymbolProvider::new);
-        map.put(8, ImportSymbolProvider::new);
-        map.put(9, VariableDeclarationSymbolProvider::new);
-        map.put(10, TypeSymbolProvider::new);
-        map.put(11, PackageDeclarationSymbolProvider::new);
-        map.put(12, FieldSymbolProvider::new);
-        map.put(13, MethodDeclarationSymbolProvider::new);
-        map.put(14, ClassDeclarationSymbolProvider::new);
+    private SymbolProviderResolver() {
     }
 
-    public Supplier<SymbolProvider> resolve(Integer i) {
-        return Optional.ofNullable(this.map.get(i)).orElse(DefaultSymbolProvider::new);
+    public static SymbolProvider resolve(Integer i) {
+        return Optional.ofNullable(map.get(i)).orElse(DEFAULT_PROVIDER);
     }
 }
@@ -0,0 +1,89 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.core.dom.ITypeBinding;
+
+/*
+ * Supertype closures of the types we check parameters against, keyed by the binding key.
+ * Binding keys are stable across ASTs of the same search, so a closure is computed once
+ * and every later subtype check for that type is a set lookup. Each closure holds the
+ * qualified names (erasure and, for parameterized types, with type arguments) of the type
+ * itself and all of its superclasses and interfaces.
+ *
+ * One cache is meant to live as long as a single search, bindings of later searches may
+ * see a changed hierarchy.
+ */
+public class TypeHierarchyCache {
+    private final Map<String, Set<String>> supertypeNames = new ConcurrentHashMap<>();
+
+    public boolean isSubtypeOf(ITypeBinding type, String queryTypeName) {
+        if (type == null) {
+            return false;
+        }
+        return getSupertypeNames(type).contains(queryTypeName);
+    }
+
+    public Set<String> getSupertypeNames(ITypeBinding type) {
+        return closure(type, new HashSet<>(), new boolean[1]);
+    }
+
+    /*
+     * partial is set when the closure misses names: a supertype was already being computed
+     * further up (a cycle) or a binding could not be resolved. Partial closures are returned
+     * but never cached, nor is anything computed on top of them.
+     */
+    private Set<String> closure(ITypeBinding type, Set<String> visiting, boolean[] partial) {
+        String key = type.getKey();
+        if (key != null) {
+            Set<String> cached = supertypeNames.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            if (!visiting.add(key)) {
+                // already being computed further up, avoid infinite loops
+                partial[0] = true;
+                return Collections.emptySet();
+            }
+        }
+
+        boolean[] incomplete = new boolean[] { type.isRecovered() };
+        Set<String> names = new HashSet<>();
+        names.add(CustomASTVisitor.getQualifiedTypeName(type));
+        ITypeBinding erasure = type.getErasure();
+        if (erasure != null) {
+            names.add(erasure.getQualifiedName());
+        }
+        ITypeBinding superclass = type.getSuperclass();
+        if (superclass != null) {
+            names.addAll(closure(superclass, visiting, incomplete));
+        }
+        ITypeBinding[] interfaces = type.getInterfaces();
+        if (interfaces != null) {
+            for (ITypeBinding interfaceType : interfaces) {
+                names.addAll(closure(interfaceType, visiting, incomplete));
+            }
+        }
+
+        if (key != null) {
+            visiting.remove(key);
+        }
+        if (incomplete[0]) {
+            partial[0] = true;
+            return names;
+        }
+        if (key == null) {
+            return names;
+        }
+        Set<String> existing = supertypeNames.putIfAbsent(key, Collections.unmodifiableSet(names));
+        return existing != null ? existing : names;
+    }
+
+    int size() {
+        return supertypeNames.size();
+    }
+}
@@ -25,19 +25,18 @@ import org.eclipse.jdt.core.search.TypeReferenceMatch;
 import org.eclipse.jdt.internal.core.Annotation;
 import org.eclipse.jdt.internal.core.ResolvedSourceMethod;
 import org.eclipse.jdt.internal.core.ResolvedSourceType;
+import org.eclipse.jdt.internal.core.SourceType;
 import org.eclipse.jdt.internal.core.SourceRefElement;
 import org.eclipse.lsp4j.Location;
 import org.eclipse.lsp4j.SymbolInformation;
 import org.eclipse.lsp4j.SymbolKind;
 
-import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
 
-public class TypeSymbolProvider implements SymbolProvider, WithQuery, WithAnnotationQuery {
-    private String query;
-    private AnnotationQuery annotationQuery;
+public class TypeSymbolProvider implements SymbolProvider, WithAnnotationQuery {
 
     @Override
-    public List<SymbolInformation> get(SearchMatch match) {
+    public List<SymbolInformation> get(SearchMatch match, SearchContext context) {
         SymbolKind kind = convertSymbolKind((IJavaElement) match.getElement());
         List<SymbolInformation> symbols = new ArrayList<>();
         // For Method Calls we will need to do the local variable trick
@@ -53,13 +52,8 @@ public class TypeSymbolProvider implements SymbolProvider, WithQuery, WithAnnota
         // first, we check if the file belongs to package a.b
         // second, we check if CompilationUnit has package declaration of a.b
         // third, we check if CompilationUnit has explicit import of a.b.C or a.b.*
-        if (match instanceof TypeReferenceMatch && this.query.contains(".")) {
+        if (match instanceof TypeReferenceMatch && context.getQuery().isQualified()) {
             try {
-                String qualification = "";
-                int dotIndex = this.query.lastIndexOf('.');
-                if (dotIndex > 0) {
-                    qualification = this.query.substring(0, dotIndex);
-                }
                 var element = (IJavaElement) match.getElement();
                 ICompilationUnit compilationUnit = (ICompilationUnit) element
                         .getAncestor(IJavaElement.COMPILATION_UNIT);
@@ -73,32 +67,41 @@ public class TypeSymbolProvider implements SymbolProvider, WithQuery, WithAnnota
                 }
                 boolean isAccurate = false;
                 Location location = getLocation((IJavaElement) match.getElement(), match);
-                // if the file is in the same package as the query
-                // there's a high chance its an accurate match
-                if (qualification != "" && location.getUri().contains(qualification.replaceAll(".", "/"))) {
-                    isAccurate = true;
+                for (RuleQuery.Alternative alternative : context.getQuery().getAlternatives()) {
+                    // if the file is in the same package as the query
+                    // there's a high chance its an accurate match
+                    String qualificationPath = alternative.getQualificationPath();
+                    if (!qualificationPath.isEmpty() && location.getUri().contains(qualificationPath)) {
+                        isAccurate = true;
+                        break;
+                    }
                 }
                 if (compilationUnit != null && !isAccurate) {
-                    // if the file contains package declaration that matches the query, then type
-                    // can be referenced without its fully qualified name
-                    for (IPackageDeclaration packageDecl : compilationUnit.getPackageDeclarations()) {
-                        if (qualification != "" && packageDecl.getElementName().matches(qualification)) {
-                            isAccurate = true;
+                    IPackageDeclaration[] packageDeclarations = compilationUnit.getPackageDeclarations();
+                    IImportDeclaration[] imports = compilationUnit.getImports();
+                    for (RuleQuery.Alternative alternative : context.getQuery().getAlternatives()) {
+                        // if the file contains package declaration that matches the query, then type
+                        // can be referenced without its fully qualified name
+                        for (IPackageDeclaration packageDecl : packageDeclarations) {
+                            if (alternative.matchesQualification(packageDecl.getElementName())) {
+                                isAccurate = true;
+                            }
                         }
-                    }
-                    // if the file contains explicit imports for the fully qualified name
-                    // or a .* import with partial qualified name then type must be accurate
-                    if (!isAccurate) {
-                        for (IImportDeclaration importDecl : compilationUnit.getImports()) {
+                        // if the file contains explicit imports for the fully qualified name
+                        // or a .* import with partial qualified name then type must be accurate
+                        for (IImportDeclaration importDecl : imports) {
                             String importElement = importDecl.getElementName();
-                            if (importElement.matches(this.query)) {
+                            if (alternative.matches(importElement)) {
                                 isAccurate = true;
                             }
-                            if (qualification != "" &&
-                                    importElement.replaceAll(".*", "").matches(qualification)) {
+                            if (importElement.endsWith(".*") &&
+                                    alternative.matchesQualification(importElement.substring(0, importElement.length() - 2))) {
                                 isAccurate = true;
                             }
                         }
+                        if (isAccurate) {
+                            break;
+                        }
                     }
                 }
                 if (compilationUnit != null) {
@@ -117,8 +120,10 @@ public class TypeSymbolProvider implements SymbolProvider, WithQuery, WithAnnota
 
         List<Class<? extends SourceRefElement>> classes = new ArrayList<>();
         classes.add(ResolvedSourceType.class);
+        // types found in the workspace type hierarchy are not resolved
+        classes.add(SourceType.class);
         classes.add(ResolvedSourceMethod.class);
-        if (!matchesAnnotationQuery(match, classes)) {
+        if (!matchesAnnotationQuery(match, classes, context)) {
             return null;
         }
 
@@ -138,19 +143,4 @@ public class TypeSymbolProvider implements SymbolProvider, WithQuery, WithAnnota
 
         return symbols;
     }
-
-    @Override
-    public void setQuery(String query) {
-        this.query = query;
-    }
-
-    @Override
-    public AnnotationQuery getAnnotationQuery() {
-        return this.annotationQuery;
-    }
-
-    @Override
-    public void setAnnotationQuery(AnnotationQuery annotationQuery) {
-        this.annotationQuery = annotationQuery;
-    }
-}
\ No newline at end of file
+}
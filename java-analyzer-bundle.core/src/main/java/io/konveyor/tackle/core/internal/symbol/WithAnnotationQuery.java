@@ -2,7 +2,7 @@ package io.konveyor.tackle.core.internal.symbol;
 
 import io.konveyor.tackle.core.internal.query.AnnotationQuery;
 import org.eclipse.jdt.core.IAnnotation;
-import org.eclipse.jdt.core.IImportDeclaration;
+import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.search.SearchMatch;
@@ -10,31 +10,30 @@ import org.eclipse.jdt.internal.core.Annotation;
 import org.eclipse.jdt.internal.core.SourceMethod;
 import org.eclipse.jdt.internal.core.SourceRefElement;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
  * Mixin interface for {@link SymbolProvider}s that allows for Annotation queries to be performed.
+ * The annotation query is read from the {@link SearchContext} of the search, so implementations
+ * hold no state of their own.
  */
 public interface WithAnnotationQuery {
-    AnnotationQuery getAnnotationQuery();
-    void setAnnotationQuery(AnnotationQuery annotationQuery);
-
     /**
      * Checks whether a given matched symbol has the corresponding annotations, if any.
      *
      * @param match the matched symbol.
      * @param matchClasses a list of potential classes for the match to be cast to. In order to get the annotations from
      *                     the match, it must be cast to a specific type of symbol. See usage examples.
+     * @param context the context of the search, holding the annotation query if any.
      * @return a boolean indicating whether the symbol has the specified annotations.
      */
-    default boolean matchesAnnotationQuery(SearchMatch match, List<Class<? extends SourceRefElement>> matchClasses) {
-        if (getAnnotationQuery() != null) {
+    default boolean matchesAnnotationQuery(SearchMatch match, List<Class<? extends SourceRefElement>> matchClasses, SearchContext context) {
+        AnnotationQuery annotationQuery = context.getAnnotationQuery();
+        if (annotationQuery != null) {
             try {
                 // Try to cast the match element into one of the given matchClasses
                 IAnnotation[] annotations = matchClasses.stream()
@@ -48,9 +47,9 @@ public interface WithAnnotationQuery {
 
                 // Iterate over the annotation this symbol is annotated with
                 for (IAnnotation annotation : annotations) {
-                    for (String fqn : getFQNCandidates(annotation)) {
-                        if (getAnnotationQuery().matchesAnnotation(fqn)) {
-                            return doElementsMatch((Annotation) annotation);
+                    for (String fqn : getFQNCandidates(annotation, context)) {
+                        if (annotationQuery.matchesAnnotation(fqn)) {
+                            return doElementsMatch((Annotation) annotation, annotationQuery);
                         }
                     }
                     // Nested annotations (e.g. in member value pairs)
@@ -60,17 +59,17 @@ public interface WithAnnotationQuery {
                                 Object[] objs = (Object[]) member.getValue();
                                 for (int i = 0; i < objs.length; i++) {
                                     Annotation innerAnnotation = (Annotation) objs[i];
-                                    for (String fqn : getFQNCandidates(innerAnnotation)) {
-                                        if (getAnnotationQuery().matchesAnnotation(fqn)) {
-                                            return doElementsMatch(innerAnnotation);
+                                    for (String fqn : getFQNCandidates(innerAnnotation, context)) {
+                                        if (annotationQuery.matchesAnnotation(fqn)) {
+                                            return doElementsMatch(innerAnnotation, annotationQuery);
                                         }
                                     }
                                 }
                             } else if (member.getValue() instanceof IAnnotation) {
                                 Annotation innerAnnotation = (Annotation) member.getValue();
-                                for (String fqn : getFQNCandidates(innerAnnotation)) {
-                                    if (getAnnotationQuery().matchesAnnotation(fqn)) {
-                                        return doElementsMatch(innerAnnotation);
+                                for (String fqn : getFQNCandidates(innerAnnotation, context)) {
+                                    if (annotationQuery.matchesAnnotation(fqn)) {
+                                        return doElementsMatch(innerAnnotation, annotationQuery);
                                     }
                                 }
                             }
@@ -134,14 +133,15 @@ public interface WithAnnotationQuery {
      * "elements" node is an array, therefore, if multiple elements are present in the query, all must be matched.
      *
      * @param annotation the annotation to inspect
+     * @param annotationQuery the annotation query of the search
      * @return a boolean indicating whether the elements match
      * @throws JavaModelException
      */
-    private boolean doElementsMatch(Annotation annotation) throws JavaModelException {
+    private boolean doElementsMatch(Annotation annotation, AnnotationQuery annotationQuery) throws JavaModelException {
         // If the query has annotation elements to check, iterate through the annotation's values and check
-        if (getAnnotationQuery().getElements() != null && !getAnnotationQuery().getElements().entrySet().isEmpty()) {
+        if (annotationQuery.getElements() != null && !annotationQuery.getElements().entrySet().isEmpty()) {
             IMemberValuePair[] memberValuePairs = annotation.getMemberValuePairs();
-            Set<Map.Entry<String, String>> ruleAnnotationElems = getAnnotationQuery().getElements().entrySet();
+            Set<Map.Entry<String, String>> ruleAnnotationElems = annotationQuery.getElements().entrySet();
             boolean allElementsMatch = true;
             boolean oneElementMatched = false;
             // TODO: there is a problem with defaults: they don't appear in the memberValuePairs so they cannot be matched
@@ -184,45 +184,11 @@ public interface WithAnnotationQuery {
     }
 
     /**
-     * Returns all possible FQNs for this annotation from the CU's imports: single-type match (if any)
-     * first, then one candidate per on-demand import. Caller tries each until the rule matches.
+     * Returns all possible FQNs for this annotation from the import table of its CU, the
+     * {@link io.konveyor.tackle.core.internal.index.AnnotationIndex} resolves names the same way.
      */
-    private List<String> getFQNCandidates(IAnnotation annotation) {
-        String name = annotation.getElementName();
-        if (name == null || name.isEmpty()) {
-            return List.of();
-        }
-        // Already fully qualified in source (e.g. @com.example.MyAnnotation)
-        if (name.contains(".")) {
-            return List.of(name);
-        }
-        List<IImportDeclaration> imports = tryToGetImports(annotation);
-        List<String> candidates = new ArrayList<>();
-        // Single-type: at most one
-        imports.stream()
-                .filter(i -> i.getElementName().endsWith(name))
-                .findFirst()
-                .map(IImportDeclaration::getElementName)
-                .ifPresent(candidates::add);
-        // On-demand: one candidate per pkg.*
-        for (IImportDeclaration imp : imports) {
-            String elementName = imp.getElementName();
-            if (elementName != null && elementName.endsWith(".*")) {
-                String prefix = elementName.substring(0, elementName.length() - 2);
-                if (!prefix.isEmpty()) {
-                    candidates.add(prefix + "." + name);
-                }
-            }
-        }
-        return candidates;
-    }
-
-    private List<IImportDeclaration> tryToGetImports(IAnnotation annotation) {
-        try {
-            return Optional.ofNullable(((Annotation) annotation).getCompilationUnit().getImports()).map(Arrays::asList).orElse(List.of());
-        } catch (Throwable e) {
-            e.printStackTrace();
-            return List.of();
-        }
+    private List<String> getFQNCandidates(IAnnotation annotation, SearchContext context) {
+        ICompilationUnit unit = annotation instanceof Annotation ? ((Annotation) annotation).getCompilationUnit() : null;
+        return context.getImportTable(unit).getFQNCandidates(annotation.getElementName());
     }
 }
@@ -1,5 +0,0 @@
-package io.konveyor.tackle.core.internal.symbol;
-
-public interface WithMaxResults{
-    void setMaxResultes(int maxResults);
-}
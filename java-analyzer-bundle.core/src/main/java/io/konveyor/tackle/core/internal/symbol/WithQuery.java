@@ -1,5 +0,0 @@
-package io.konveyor.tackle.core.internal.symbol;
-
-public interface WithQuery {
-    void setQuery(String query);
-}
@@ -22,7 +22,7 @@ public class OpenSourceFilteredSearchScope implements IJavaSearchScope {
 
     @Override
     public boolean encloses(String resourcePath) {
-        if (exclusionManager.shouldExcludeLibrary(resourcePath)) {
+        if (exclusionManager.shouldExcludeDocumentPath(resourcePath)) {
             return false;
         }
         return scope.encloses(resourcePath);
@@ -11,6 +11,7 @@ import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.search.IJavaSearchScope;
 import static org.eclipse.jdt.ls.core.internal.JavaLanguageServerPlugin.logInfo;
 
 public class OpenSourceLibraryExclusionManager {
@@ -23,7 +24,7 @@ public class OpenSourceLibraryExclusionManager {
     private final String mavenLocalRepoPath;
     private final String mavenIndexPath;
 
-    private OpenSourceLibraryExclusionManager(String mavenLocalRepoPath, String mavenIndexPath) {
+    OpenSourceLibraryExclusionManager(String mavenLocalRepoPath, String mavenIndexPath) {
         this.mavenLocalRepoPath = mavenLocalRepoPath;
         this.mavenIndexPath = mavenIndexPath;
         loadExclusionPatterns();
@@ -88,6 +89,21 @@ public class OpenSourceLibraryExclusionManager {
         });
     }
 
+    /**
+     * Class files in libraries have document paths like <code>/repo/lib.jar|a/b/C.class</code>,
+     * the exclusion only depends on the archive so only that part is checked (and cached).
+     */
+    public boolean shouldExcludeDocumentPath(String documentPath) {
+        if (documentPath == null) {
+            return false;
+        }
+        int separator = documentPath.indexOf(IJavaSearchScope.JAR_FILE_ENTRY_SEPARATOR);
+        if (separator != -1) {
+            return shouldExcludeLibrary(documentPath.substring(0, separator));
+        }
+        return shouldExcludeLibrary(documentPath);
+    }
+
     public boolean shouldExcludePackageRoot(IPackageFragmentRoot root) {
         // not a library
         if (!root.isArchive()) {
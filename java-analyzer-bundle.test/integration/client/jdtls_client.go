@@ -1,6 +1,7 @@
 package client
 
 import (
+	"bytes"
 	"context"
 	"encoding/json"
 	"fmt"
@@ -301,6 +302,370 @@ func (c *JDTLSClient) SearchSymbolsWithAnnotation(project, query string, locatio
 	return symbols, nil
 }
 
+// CompactSymbolResult is the columnar result returned for "resultFormat": "compact", strings
+// are referenced by their index in Strings and -1 stands for a missing string. Snippets and
+// SnippetStartLines are only set when the symbols were searched with "contextLines"
+type CompactSymbolResult struct {
+	Format            string   `json:"format"`
+	Strings           []string `json:"strings"`
+	Names             []int    `json:"names"`
+	ContainerNames    []int    `json:"containerNames"`
+	Kinds             []int    `json:"kinds"`
+	URIs              []int    `json:"uris"`
+	StartLines        []int    `json:"startLines"`
+	StartCharacters   []int    `json:"startCharacters"`
+	EndLines          []int    `json:"endLines"`
+	EndCharacters     []int    `json:"endCharacters"`
+	Snippets          []int    `json:"snippets,omitempty"`
+	SnippetStartLines []int    `json:"snippetStartLines,omitempty"`
+}
+
+// str returns the string at index, -1 stands for a missing string
+func (r *CompactSymbolResult) str(index int) (string, error) {
+	if index == -1 {
+		return "", nil
+	}
+	if index < 0 || index >= len(r.Strings) {
+		return "", fmt.Errorf("string index %d out of range", index)
+	}
+	return r.Strings[index], nil
+}
+
+// Symbols expands the compact result into SymbolInformation
+func (r *CompactSymbolResult) Symbols() ([]protocol.SymbolInformation, error) {
+	symbols := make([]protocol.SymbolInformation, len(r.Names))
+	for i := range r.Names {
+		var err error
+		symbol := &symbols[i]
+		if symbol.Name, err = r.str(r.Names[i]); err != nil {
+			return nil, err
+		}
+		if symbol.ContainerName, err = r.str(r.ContainerNames[i]); err != nil {
+			return nil, err
+		}
+		uri, err := r.str(r.URIs[i])
+		if err != nil {
+			return nil, err
+		}
+		symbol.Kind = protocol.SymbolKind(r.Kinds[i])
+		symbol.Location.URI = protocol.DocumentURI(uri)
+		symbol.Location.Range.Start.Line = uint32(r.StartLines[i])
+		symbol.Location.Range.Start.Character = uint32(r.StartCharacters[i])
+		symbol.Location.Range.End.Line = uint32(r.EndLines[i])
+		symbol.Location.Range.End.Character = uint32(r.EndCharacters[i])
+	}
+	return symbols, nil
+}
+
+// SnippetSymbols expands the compact result into SnippetSymbol, symbols without a snippet
+// have an empty Snippet
+func (r *CompactSymbolResult) SnippetSymbols() ([]SnippetSymbol, error) {
+	symbols, err := r.Symbols()
+	if err != nil {
+		return nil, err
+	}
+	if r.Snippets != nil && (len(r.Snippets) != len(symbols) || len(r.SnippetStartLines) != len(symbols)) {
+		return nil, fmt.Errorf("expected %d snippets, got %d", len(symbols), len(r.Snippets))
+	}
+	snippetSymbols := make([]SnippetSymbol, len(symbols))
+	for i := range symbols {
+		snippetSymbols[i].SymbolInformation = symbols[i]
+		if r.Snippets == nil || r.Snippets[i] == -1 {
+			continue
+		}
+		if snippetSymbols[i].Snippet, err = r.str(r.Snippets[i]); err != nil {
+			return nil, err
+		}
+		snippetSymbols[i].SnippetStartLine = r.SnippetStartLines[i]
+	}
+	return snippetSymbols, nil
+}
+
+// SearchSymbolsCompact executes a symbol search asking for the compact result format
+func (c *JDTLSClient) SearchSymbolsCompact(project, query string, location int, analysisMode string, includedPaths []string) ([]protocol.SymbolInformation, error) {
+	args := map[string]any{
+		"project":      project,
+		"query":        query,
+		"location":     fmt.Sprintf("%d", location),
+		"analysisMode": analysisMode,
+		"resultFormat": "compact",
+	}
+
+	if includedPaths != nil {
+		args["includedPaths"] = includedPaths
+	}
+
+	result, err := c.ExecuteCommand("io.konveyor.tackle.ruleEntry", []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	if result == nil {
+		return []protocol.SymbolInformation{}, nil
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var compact CompactSymbolResult
+	if err := json.Unmarshal(data, &compact); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal compact result: %w", err)
+	}
+
+	return compact.Symbols()
+}
+
+// SearchSymbolsCompactWithContext executes a symbol search asking for the compact result format
+// and contextLines lines before and after the location of each symbol
+func (c *JDTLSClient) SearchSymbolsCompactWithContext(project, query string, location int, analysisMode string, contextLines int) ([]SnippetSymbol, error) {
+	args := map[string]any{
+		"project":      project,
+		"query":        query,
+		"location":     fmt.Sprintf("%d", location),
+		"analysisMode": analysisMode,
+		"resultFormat": "compact",
+		"contextLines": contextLines,
+	}
+
+	result, err := c.ExecuteCommand("io.konveyor.tackle.ruleEntry", []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	if result == nil {
+		return []SnippetSymbol{}, nil
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var compact CompactSymbolResult
+	if err := json.Unmarshal(data, &compact); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal compact result: %w", err)
+	}
+
+	return compact.SnippetSymbols()
+}
+
+// SymbolCountResult is the result returned for the "exists", "count" and "countByFile" result
+// modes, CountsByFile maps file URIs to their number of matches and is only set for countByFile
+type SymbolCountResult struct {
+	Mode         string         `json:"mode"`
+	Exists       bool           `json:"exists"`
+	Count        int            `json:"count"`
+	CountsByFile map[string]int `json:"countsByFile,omitempty"`
+}
+
+// SearchSymbolsCount executes a symbol search with a result mode other than "full"
+func (c *JDTLSClient) SearchSymbolsCount(project, query string, location int, analysisMode, resultMode string) (*SymbolCountResult, error) {
+	args := map[string]any{
+		"project":      project,
+		"query":        query,
+		"location":     fmt.Sprintf("%d", location),
+		"analysisMode": analysisMode,
+		"resultMode":   resultMode,
+	}
+
+	result, err := c.ExecuteCommand("io.konveyor.tackle.ruleEntry", []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var counts SymbolCountResult
+	if err := json.Unmarshal(data, &counts); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal count result: %w", err)
+	}
+
+	return &counts, nil
+}
+
+// ResultPage is a page of the symbols of a rule entry called with "pageSize", Cursor fetches
+// the next page and is empty on the last one. RawSymbols is a list of symbols, or a
+// CompactSymbolResult when the rule entry asked for "resultFormat": "compact"
+type ResultPage struct {
+	Cursor     string          `json:"cursor,omitempty"`
+	Offset     int             `json:"offset"`
+	Total      int             `json:"total"`
+	RawSymbols json.RawMessage `json:"symbols"`
+}
+
+// Symbols decodes the symbols of the page, in either format
+func (p *ResultPage) Symbols() ([]protocol.SymbolInformation, error) {
+	raw := bytes.TrimSpace(p.RawSymbols)
+	if len(raw) == 0 || bytes.Equal(raw, []byte("null")) {
+		return []protocol.SymbolInformation{}, nil
+	}
+	if raw[0] == '{' {
+		var compact CompactSymbolResult
+		if err := json.Unmarshal(raw, &compact); err != nil {
+			return nil, fmt.Errorf("failed to unmarshal compact page: %w", err)
+		}
+		return compact.Symbols()
+	}
+	var symbols []protocol.SymbolInformation
+	if err := json.Unmarshal(raw, &symbols); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal page symbols: %w", err)
+	}
+	return symbols, nil
+}
+
+// SearchSymbolsPaged executes a symbol search fetching the symbols pageSize at a time
+func (c *JDTLSClient) SearchSymbolsPaged(project, query string, location int, analysisMode string, pageSize int) ([]protocol.SymbolInformation, error) {
+	return c.searchSymbolsPaged(project, query, location, analysisMode, pageSize, false)
+}
+
+// SearchSymbolsPagedCompact is SearchSymbolsPaged with the pages in the compact result format
+func (c *JDTLSClient) SearchSymbolsPagedCompact(project, query string, location int, analysisMode string, pageSize int) ([]protocol.SymbolInformation, error) {
+	return c.searchSymbolsPaged(project, query, location, analysisMode, pageSize, true)
+}
+
+func (c *JDTLSClient) searchSymbolsPaged(project, query string, location int, analysisMode string, pageSize int, compact bool) ([]protocol.SymbolInformation, error) {
+	args := map[string]any{
+		"project":      project,
+		"query":        query,
+		"location":     fmt.Sprintf("%d", location),
+		"analysisMode": analysisMode,
+		"pageSize":     pageSize,
+	}
+	if compact {
+		args["resultFormat"] = "compact"
+	}
+
+	page, err := c.executePageCommand("io.konveyor.tackle.ruleEntry", args)
+	if err != nil {
+		return nil, err
+	}
+
+	symbols, err := page.Symbols()
+	if err != nil {
+		return nil, err
+	}
+	for page.Cursor != "" {
+		page, err = c.executePageCommand("io.konveyor.tackle.ruleEntryPage", map[string]any{"cursor": page.Cursor})
+		if err != nil {
+			return nil, err
+		}
+		pageSymbols, err := page.Symbols()
+		if err != nil {
+			return nil, err
+		}
+		symbols = append(symbols, pageSymbols...)
+	}
+
+	return symbols, nil
+}
+
+func (c *JDTLSClient) executePageCommand(command string, args map[string]any) (*ResultPage, error) {
+	result, err := c.ExecuteCommand(command, []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var page ResultPage
+	if err := json.Unmarshal(data, &page); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal result page: %w", err)
+	}
+
+	return &page, nil
+}
+
+// SnippetSymbol is a symbol returned with "contextLines", Snippet holds the lines around its
+// location joined by '\n' starting at SnippetStartLine
+type SnippetSymbol struct {
+	protocol.SymbolInformation
+	Snippet          string `json:"snippet"`
+	SnippetStartLine int    `json:"snippetStartLine"`
+}
+
+// SearchSymbolsWithContext executes a symbol search returning contextLines lines before and
+// after the location of each symbol
+func (c *JDTLSClient) SearchSymbolsWithContext(project, query string, location int, analysisMode string, contextLines int) ([]SnippetSymbol, error) {
+	args := map[string]any{
+		"project":      project,
+		"query":        query,
+		"location":     fmt.Sprintf("%d", location),
+		"analysisMode": analysisMode,
+		"contextLines": contextLines,
+	}
+
+	result, err := c.ExecuteCommand("io.konveyor.tackle.ruleEntry", []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	if result == nil {
+		return []SnippetSymbol{}, nil
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var symbols []SnippetSymbol
+	if err := json.Unmarshal(data, &symbols); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal symbols: %w", err)
+	}
+
+	return symbols, nil
+}
+
+// ClassFileLocation is a konveyor-jdt location whose text is asked for, without a range the
+// whole text of the class file is returned
+type ClassFileLocation struct {
+	URI   string          `json:"uri"`
+	Range *protocol.Range `json:"range,omitempty"`
+}
+
+// ClassFileContent is the text of a ClassFileLocation from StartLine, Error is set when the
+// class file could not be found
+type ClassFileContent struct {
+	URI        string `json:"uri"`
+	Content    string `json:"content"`
+	StartLine  int    `json:"startLine"`
+	Decompiled bool   `json:"decompiled"`
+	Error      string `json:"error,omitempty"`
+}
+
+// ClassFileContents fetches the text of many konveyor-jdt locations in one command
+func (c *JDTLSClient) ClassFileContents(locations []ClassFileLocation, contextLines int) ([]ClassFileContent, error) {
+	args := map[string]any{
+		"locations":    locations,
+		"contextLines": contextLines,
+	}
+
+	result, err := c.ExecuteCommand("io.konveyor.tackle.classFileContents", []any{args})
+	if err != nil {
+		return nil, err
+	}
+
+	data, err := json.Marshal(result)
+	if err != nil {
+		return nil, fmt.Errorf("failed to marshal result: %w", err)
+	}
+
+	var contents []ClassFileContent
+	if err := json.Unmarshal(data, &contents); err != nil {
+		return nil, fmt.Errorf("failed to unmarshal class file contents: %w", err)
+	}
+
+	return contents, nil
+}
+
 // Shutdown gracefully shuts down the LSP connection
 func (c *JDTLSClient) Shutdown() error {
 	c.logger.Info("Shutting down JDT.LS server...")
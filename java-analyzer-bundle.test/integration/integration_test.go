@@ -365,6 +365,180 @@ func TestReturnTypeSearch(t *testing.T) {
 	})
 }
 
+// TestCompactResultFormat tests the compact result format returns the same symbols
+func TestCompactResultFormat(t *testing.T) {
+	t.Run("Compact and full results match", func(t *testing.T) {
+		full, err := jdtlsClient.SearchSymbols("test-project", "java.lang.String", 7, "source-only", nil)
+		if err != nil {
+			t.Fatalf("Search failed: %v", err)
+		}
+
+		compact, err := jdtlsClient.SearchSymbolsCompact("test-project", "java.lang.String", 7, "source-only", nil)
+		if err != nil {
+			t.Fatalf("Compact search failed: %v", err)
+		}
+
+		if len(compact) != len(full) {
+			t.Fatalf("Expected %d symbols in compact format, got %d", len(full), len(compact))
+		}
+		for i := range full {
+			if compact[i].Name != full[i].Name || compact[i].Location != full[i].Location {
+				t.Errorf("Symbol %d differs: %v vs %v", i, compact[i], full[i])
+			}
+		}
+	})
+}
+
+// TestResultModes tests the exists and count result modes agree with the full results
+func TestResultModes(t *testing.T) {
+	full, err := jdtlsClient.SearchSymbols("test-project", "java.lang.String", 7, "source-only", nil)
+	if err != nil {
+		t.Fatalf("Search failed: %v", err)
+	}
+
+	t.Run("Count matches the full results", func(t *testing.T) {
+		counts, err := jdtlsClient.SearchSymbolsCount("test-project", "java.lang.String", 7, "source-only", "countByFile")
+		if err != nil {
+			t.Fatalf("Count search failed: %v", err)
+		}
+		if counts.Count != len(full) {
+			t.Errorf("Expected count %d, got %d", len(full), counts.Count)
+		}
+		total := 0
+		for _, n := range counts.CountsByFile {
+			total += n
+		}
+		if total != len(full) {
+			t.Errorf("Expected %d matches over all files, got %d", len(full), total)
+		}
+	})
+
+	t.Run("Exists stops at the first match", func(t *testing.T) {
+		exists, err := jdtlsClient.SearchSymbolsCount("test-project", "java.lang.String", 7, "source-only", "exists")
+		if err != nil {
+			t.Fatalf("Exists search failed: %v", err)
+		}
+		if exists.Exists != (len(full) > 0) {
+			t.Errorf("Expected exists to be %v", len(full) > 0)
+		}
+		if exists.Count > 1 {
+			t.Errorf("Expected at most one match, got %d", exists.Count)
+		}
+	})
+}
+
+// TestPaginatedResults tests fetching the symbols page by page returns the same symbols
+func TestPaginatedResults(t *testing.T) {
+	t.Run("Pages add up to the full results", func(t *testing.T) {
+		full, err := jdtlsClient.SearchSymbols("test-project", "java.lang.String", 7, "source-only", nil)
+		if err != nil {
+			t.Fatalf("Search failed: %v", err)
+		}
+
+		paged, err := jdtlsClient.SearchSymbolsPaged("test-project", "java.lang.String", 7, "source-only", 2)
+		if err != nil {
+			t.Fatalf("Paged search failed: %v", err)
+		}
+
+		if len(paged) != len(full) {
+			t.Fatalf("Expected %d symbols over all pages, got %d", len(full), len(paged))
+		}
+		for i := range full {
+			if paged[i].Name != full[i].Name || paged[i].Location != full[i].Location {
+				t.Errorf("Symbol %d differs: %v vs %v", i, paged[i], full[i])
+			}
+		}
+	})
+
+	t.Run("Compact pages add up to the full results", func(t *testing.T) {
+		full, err := jdtlsClient.SearchSymbols("test-project", "java.lang.String", 7, "source-only", nil)
+		if err != nil {
+			t.Fatalf("Search failed: %v", err)
+		}
+
+		paged, err := jdtlsClient.SearchSymbolsPagedCompact("test-project", "java.lang.String", 7, "source-only", 2)
+		if err != nil {
+			t.Fatalf("Compact paged search failed: %v", err)
+		}
+
+		if len(paged) != len(full) {
+			t.Fatalf("Expected %d symbols over all compact pages, got %d", len(full), len(paged))
+		}
+		for i := range full {
+			if paged[i].Name != full[i].Name || paged[i].Location != full[i].Location {
+				t.Errorf("Symbol %d differs: %v vs %v", i, paged[i], full[i])
+			}
+		}
+	})
+}
+
+// TestContextLines tests symbols are returned with the lines around their location
+func TestContextLines(t *testing.T) {
+	t.Run("Snippets hold the symbol line", func(t *testing.T) {
+		symbols, err := jdtlsClient.SearchSymbolsWithContext("test-project", "java.lang.String", 7, "source-only", 2)
+		if err != nil {
+			t.Fatalf("Search failed: %v", err)
+		}
+
+		if len(symbols) == 0 {
+			t.Fatalf("Expected symbols with snippets")
+		}
+		for _, symbol := range symbols {
+			line := int(symbol.Location.Range.Start.Line)
+			if symbol.SnippetStartLine > line || symbol.SnippetStartLine < line-2 {
+				t.Errorf("Snippet of %s starts at line %d, symbol is at line %d", symbol.Name, symbol.SnippetStartLine, line)
+			}
+			if !strings.Contains(symbol.Snippet, symbol.Name) {
+				t.Errorf("Snippet of %s does not contain its name: %q", symbol.Name, symbol.Snippet)
+			}
+		}
+	})
+
+	t.Run("Compact results keep the snippets", func(t *testing.T) {
+		symbols, err := jdtlsClient.SearchSymbolsWithContext("test-project", "java.lang.String", 7, "source-only", 2)
+		if err != nil {
+			t.Fatalf("Search failed: %v", err)
+		}
+
+		compact, err := jdtlsClient.SearchSymbolsCompactWithContext("test-project", "java.lang.String", 7, "source-only", 2)
+		if err != nil {
+			t.Fatalf("Compact search failed: %v", err)
+		}
+
+		if len(compact) != len(symbols) {
+			t.Fatalf("Expected %d symbols in compact format, got %d", len(symbols), len(compact))
+		}
+		for i := range symbols {
+			if compact[i].Snippet != symbols[i].Snippet || compact[i].SnippetStartLine != symbols[i].SnippetStartLine {
+				t.Errorf("Snippet of symbol %d differs: %q at %d vs %q at %d", i, compact[i].Snippet, compact[i].SnippetStartLine,
+					symbols[i].Snippet, symbols[i].SnippetStartLine)
+			}
+		}
+	})
+}
+
+// TestClassFileContents tests the batch content command answers every location
+func TestClassFileContents(t *testing.T) {
+	t.Run("Unknown class files are reported", func(t *testing.T) {
+		contents, err := jdtlsClient.ClassFileContents([]client.ClassFileLocation{
+			{URI: "konveyor-jdt://contents/missing.jar?packageName=a.Missing.class&source-range=false"},
+			{URI: "file:///not/a/class/file.java"},
+		}, 0)
+		if err != nil {
+			t.Fatalf("Class file contents failed: %v", err)
+		}
+
+		if len(contents) != 2 {
+			t.Fatalf("Expected 2 contents, got %d", len(contents))
+		}
+		for _, content := range contents {
+			if content.Error == "" {
+				t.Errorf("Expected an error for %s", content.URI)
+			}
+		}
+	})
+}
+
 // TestVariableDeclarationSearch tests variable declaration search (location type 9)
 func TestVariableDeclarationSearch(t *testing.T) {
 	t.Run("Find String variable declarations", func(t *testing.T) {
@@ -0,0 +1,141 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.ClassFileContentProvider.ClassFileLocation;
+
+public class ClassFileContentProviderTest {
+
+	@Test
+	public void testParseLocation() throws Exception {
+		// built like SymbolProvider#getLocation does
+		String uri = new URI("konveyor-jdt", "contents", "/home/user/.m2/repository/javax/ejb-api.jar",
+				"packageName=javax.ejb.Stateless.class&source-range=false", null).toASCIIString();
+		ClassFileLocation location = ClassFileLocation.parse(uri);
+		assertEquals("/home/user/.m2/repository/javax/ejb-api.jar", location.getRootPath());
+		assertEquals("javax.ejb", location.getPackageName());
+		assertEquals("Stateless.class", location.getClassName());
+	}
+
+	@Test
+	public void testParseDefaultPackage() throws Exception {
+		String uri = new URI("konveyor-jdt", "contents", "/lib/a.jar", "packageName=.Main$Inner.class&source-range=true", null).toASCIIString();
+		ClassFileLocation location = ClassFileLocation.parse(uri);
+		assertEquals("", location.getPackageName());
+		assertEquals("Main$Inner.class", location.getClassName());
+	}
+
+	@Test
+	public void testParseOtherUris() throws Exception {
+		assertNull(ClassFileLocation.parse("file:///home/user/project/src/main/java/A.java"));
+		assertNull(ClassFileLocation.parse("konveyor-jdt://contents/lib/a.jar?source-range=true"));
+	}
+
+	@Test
+	public void testGetContentsFromProjectClasspath() throws Exception {
+		// a library without source attachment, holding a class of this bundle
+		java.nio.file.Path jar = Files.createTempDirectory("class-file-content").resolve("lib.jar");
+		try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out);
+				InputStream classFile = LineTable.class.getResourceAsStream("LineTable.class")) {
+			jarOut.putNextEntry(new JarEntry("io/konveyor/tackle/core/internal/LineTable.class"));
+			classFile.transferTo(jarOut);
+			jarOut.closeEntry();
+		}
+		IJavaProject javaProject = JavaUtils.createJavaProject("class-file-content", Map.of());
+		try {
+			List<IClasspathEntry> classpath = new ArrayList<>(Arrays.asList(javaProject.getRawClasspath()));
+			classpath.add(JavaCore.newLibraryEntry(new Path(jar.toString()), null, null));
+			javaProject.setRawClasspath(classpath.toArray(new IClasspathEntry[0]), new NullProgressMonitor());
+
+			String uri = new URI("konveyor-jdt", "contents", jar.toString(),
+					"packageName=io.konveyor.tackle.core.internal.LineTable.class&source-range=false", null).toASCIIString();
+			String missing = new URI("konveyor-jdt", "contents", jar.toString(),
+					"packageName=io.konveyor.tackle.core.internal.Missing.class&source-range=false", null).toASCIIString();
+			List<ClassFileContent> contents = ClassFileContentProvider.getInstance().getContents(List.of(uri, missing),
+					Arrays.asList(null, null), 0, new NullProgressMonitor());
+
+			assertEquals(2, contents.size());
+			assertNull(contents.get(0).getError());
+			assertTrue(contents.get(0).getContent().contains("LineTable"));
+			assertEquals(missing, contents.get(1).getUri());
+			assertNotNull(contents.get(1).getError());
+		} finally {
+			javaProject.getProject().delete(true, true, null);
+		}
+	}
+
+	@Test
+	public void testGetContentsCancelled() {
+		NullProgressMonitor monitor = new NullProgressMonitor();
+		monitor.setCanceled(true);
+		List<String> uris = List.of("konveyor-jdt://contents/lib/a.jar?packageName=a.A.class",
+				"konveyor-jdt://contents/lib/a.jar?packageName=a.B.class");
+		List<ClassFileContent> contents = ClassFileContentProvider.getInstance().getContents(uris, Arrays.asList(null, null), 0, monitor);
+
+		// every uri still gets its entry
+		assertEquals(2, contents.size());
+		for (int i = 0; i < uris.size(); i++) {
+			assertEquals(uris.get(i), contents.get(i).getUri());
+			assertEquals("cancelled", contents.get(i).getError());
+		}
+	}
+
+	@Test
+	public void testParams() {
+		Map<String, Object> start = new HashMap<>();
+		start.put("line", 10.0);
+		start.put("character", 4.0);
+		Map<String, Object> end = new HashMap<>();
+		end.put("line", 12.0);
+		end.put("character", 1.0);
+		Map<String, Object> range = new HashMap<>();
+		range.put("start", start);
+		range.put("end", end);
+		Map<String, Object> withRange = new HashMap<>();
+		withRange.put("uri", "konveyor-jdt://contents/lib/a.jar?packageName=a.A.class");
+		withRange.put("range", range);
+		Map<String, Object> withoutRange = new HashMap<>();
+		withoutRange.put("uri", "konveyor-jdt://contents/lib/a.jar?packageName=a.B.class");
+		Map<String, Object> params = new HashMap<>();
+		params.put("locations", List.of(withRange, withoutRange));
+		params.put("contextLines", 2.0);
+		List<Object> arguments = new ArrayList<>();
+		arguments.add(params);
+
+		ClassFileContentParams contentParams = new ClassFileContentParams("test-command", arguments);
+		assertEquals(2, contentParams.getUris().size());
+		assertEquals(10, contentParams.getRanges().get(0).getStart().getLine());
+		assertEquals(12, contentParams.getRanges().get(0).getEnd().getLine());
+		assertNull(contentParams.getRanges().get(1));
+		assertEquals(2, contentParams.getContextLines());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMissingLocations() {
+		List<Object> arguments = new ArrayList<>();
+		arguments.add(new HashMap<String, Object>());
+		new ClassFileContentParams("test-command", arguments);
+	}
+}
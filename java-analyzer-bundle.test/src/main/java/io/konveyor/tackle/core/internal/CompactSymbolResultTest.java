@@ -0,0 +1,67 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+
+public class CompactSymbolResultTest {
+
+	private static SymbolInformation symbol(String name, SymbolKind kind, String container, String uri, int line, int start, int end) {
+		SymbolInformation symbol = new SymbolInformation();
+		symbol.setName(name);
+		symbol.setKind(kind);
+		symbol.setContainerName(container);
+		if (uri != null) {
+			symbol.setLocation(new Location(uri, new Range(new Position(line, start), new Position(line, end))));
+		}
+		return symbol;
+	}
+
+	@Test
+	public void testStringTable() {
+		CompactSymbolResult result = CompactSymbolResult.of(List.of(
+				symbol("add", SymbolKind.Method, "Calculator", "file:///Calculator.java", 10, 15, 18),
+				symbol("sum", SymbolKind.Method, "Calculator", "file:///Calculator.java", 35, 15, 18),
+				symbol("add", SymbolKind.Method, null, "file:///Other.java", 3, 4, 7)));
+
+		assertEquals("compact", result.getFormat());
+		assertEquals(List.of("add", "Calculator", "file:///Calculator.java", "sum", "file:///Other.java"), result.getStrings());
+		assertArrayEquals(new int[]{0, 3, 0}, result.getNames());
+		assertArrayEquals(new int[]{1, 1, -1}, result.getContainerNames());
+		assertArrayEquals(new int[]{2, 2, 4}, result.getUris());
+	}
+
+	@Test
+	public void testColumns() {
+		CompactSymbolResult result = CompactSymbolResult.of(List.of(
+				symbol("add", SymbolKind.Method, "Calculator", "file:///Calculator.java", 10, 15, 18),
+				symbol("status", SymbolKind.Field, "Calculator", null, 0, 0, 0)));
+
+		assertArrayEquals(new int[]{SymbolKind.Method.getValue(), SymbolKind.Field.getValue()}, result.getKinds());
+		assertArrayEquals(new int[]{10, 0}, result.getStartLines());
+		assertArrayEquals(new int[]{15, 0}, result.getStartCharacters());
+		assertArrayEquals(new int[]{10, 0}, result.getEndLines());
+		assertArrayEquals(new int[]{18, 0}, result.getEndCharacters());
+		assertArrayEquals(new int[]{2, -1}, result.getUris());
+	}
+
+	@Test
+	public void testGetSymbol() {
+		List<SymbolInformation> symbols = List.of(
+				symbol("add", SymbolKind.Method, "Calculator", "file:///Calculator.java", 10, 15, 18),
+				symbol("status", SymbolKind.Field, null, null, 0, 0, 0));
+		CompactSymbolResult result = CompactSymbolResult.of(symbols);
+
+		assertEquals(2, result.size());
+		assertEquals(symbols.get(0), result.getSymbol(0));
+		assertEquals(symbols.get(1), result.getSymbol(1));
+	}
+}
@@ -0,0 +1,86 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+public class DecompiledSourceCacheTest {
+
+	@Test
+	public void testSourcePath() {
+		Path dir = Paths.get("/cache/abc");
+		assertEquals(Paths.get("/cache/abc/javax/ejb/Stateless.java"), DecompiledSourceCache.getSourcePath(dir, "javax.ejb", "Stateless.class"));
+		// nested types are in the source of their top level type
+		assertEquals(Paths.get("/cache/abc/a/Outer.java"), DecompiledSourceCache.getSourcePath(dir, "a", "Outer$Inner$1.class"));
+		assertEquals(Paths.get("/cache/abc/Main.java"), DecompiledSourceCache.getSourcePath(dir, "", "Main.class"));
+	}
+
+	@Test
+	public void testHash() throws Exception {
+		Path dir = Files.createTempDirectory("konveyor-decompiled");
+		Path a = Files.writeString(dir.resolve("a.jar"), "a");
+		Path copy = Files.writeString(dir.resolve("copy.jar"), "a");
+		Path b = Files.writeString(dir.resolve("b.jar"), "b");
+		DecompiledSourceCache cache = new DecompiledSourceCache(dir.resolve("cache"), dir.resolve("fernflower.jar"));
+		assertEquals("ca978112ca1bbdcafac231b39a23dc4da786eff8147c4e72b9807785afee48bb", cache.hash(a));
+		// the same content at another path is the same entry
+		assertEquals(cache.hash(a), cache.hash(copy));
+		assertNotEquals(cache.hash(a), cache.hash(b));
+	}
+
+	@Test
+	public void testHashesArePersisted() throws Exception {
+		Path dir = Files.createTempDirectory("konveyor-decompiled");
+		Path a = Files.writeString(dir.resolve("a.jar"), "a");
+		Path cacheDir = dir.resolve("cache");
+		DecompiledSourceCache cache = new DecompiledSourceCache(cacheDir, dir.resolve("fernflower.jar"));
+		// looking up a hash never computes it
+		assertNull(cache.getHash(a));
+		String hash = cache.hash(a);
+		assertEquals(hash, cache.getHash(a));
+
+		// another run reads the hash from the cache directory
+		assertEquals(hash, new DecompiledSourceCache(cacheDir, dir.resolve("fernflower.jar")).getHash(a));
+
+		// a changed jar is hashed again
+		Files.writeString(a, "changed");
+		Files.setLastModifiedTime(a, FileTime.fromMillis(0));
+		assertNull(new DecompiledSourceCache(cacheDir, dir.resolve("fernflower.jar")).getHash(a));
+	}
+
+	@Test
+	public void testExtract() throws Exception {
+		Path dir = Files.createTempDirectory("konveyor-decompiled");
+		Path sources = dir.resolve("sources.jar");
+		try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(sources))) {
+			put(zip, "a/b/Outer.java", "package a.b; class Outer {}");
+			put(zip, "META-INF/MANIFEST.MF", "Manifest-Version: 1.0");
+			put(zip, "../escape.java", "class Escape {}");
+		}
+		Path target = dir.resolve("out");
+		DecompiledSourceCache.extract(sources, target);
+		Path outer = DecompiledSourceCache.getSourcePath(target, "a.b", "Outer$Inner.class");
+		assertTrue(Files.isRegularFile(outer));
+		assertEquals("package a.b; class Outer {}", Files.readString(outer));
+		assertFalse(Files.exists(target.resolve("META-INF/MANIFEST.MF")));
+		assertFalse(Files.exists(dir.resolve("escape.java")));
+	}
+
+	private static void put(ZipOutputStream zip, String name, String content) throws Exception {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+}
@@ -1,16 +1,23 @@
 package io.konveyor.tackle.core.internal;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -30,6 +37,8 @@ import org.eclipse.jdt.core.JavaCore;
  */
 public class JavaUtils {
 
+	private static final String JRE_CONTAINER = "org.eclipse.jdt.launching.JRE_CONTAINER";
+
 	private JavaUtils() {
 
 	}
@@ -50,6 +59,38 @@ public class JavaUtils {
 		return JavaCore.create(testProject);
 	}
 
+	/**
+	 * Create a Java project on the default JRE with the given sources, indexed.
+	 *
+	 * @param projectName the Java project name
+	 * @param sources     the contents of the sources, by path in the source folder
+	 *                    (<code>a/b/C.java</code>)
+	 * @return the Java project
+	 * @throws Exception
+	 */
+	public static IJavaProject createJavaProject(String projectName, Map<String, String> sources) throws Exception {
+		IJavaProject javaProject = createJavaProject(projectName, (String[]) null);
+		List<IClasspathEntry> classpaths = new ArrayList<>(Arrays.asList(javaProject.getRawClasspath()));
+		classpaths.add(JavaCore.newContainerEntry(new Path(JRE_CONTAINER)));
+		javaProject.setRawClasspath(classpaths.toArray(new IClasspathEntry[0]), new NullProgressMonitor());
+		IFolder sourceFolder = javaProject.getProject().getFolder("src");
+		for (Map.Entry<String, String> source : sources.entrySet()) {
+			IFile file = sourceFolder.getFile(source.getKey());
+			createFolders(file.getParent());
+			file.create(new ByteArrayInputStream(source.getValue().getBytes(StandardCharsets.UTF_8)), IResource.FORCE, null);
+		}
+		org.eclipse.jdt.ls.core.internal.JobHelpers.waitUntilIndexesReady();
+		return javaProject;
+	}
+
+	private static void createFolders(IContainer container) throws CoreException {
+		if (container.exists() || !(container instanceof IFolder)) {
+			return;
+		}
+		createFolders(container.getParent());
+		((IFolder) container).create(IResource.FORCE, true, null);
+	}
+
 	private static void waitForBackgroundJobs() {
 
 	}
@@ -0,0 +1,26 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class LineTableTest {
+
+	@Test
+	public void testLineSeparators() {
+		LineTable lines = LineTable.of("package a;\r\n\r\nclass A {\n  int x;\r}\n");
+		assertEquals(6, lines.getLineCount());
+		assertEquals("package a;", lines.getLines(0, 0));
+		assertEquals("\nclass A {\n  int x;", lines.getLines(1, 3));
+		assertEquals("}\n", lines.getLines(4, 5));
+	}
+
+	@Test
+	public void testClipsToTheText() {
+		LineTable lines = LineTable.of("a\nb\nc");
+		assertEquals(3, lines.getLineCount());
+		assertEquals("a\nb", lines.getLines(-2, 1));
+		assertEquals("b\nc", lines.getLines(1, 10));
+		assertEquals("", lines.getLines(5, 7));
+	}
+}
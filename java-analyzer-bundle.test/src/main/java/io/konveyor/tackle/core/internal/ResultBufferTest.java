@@ -0,0 +1,102 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+
+public class ResultBufferTest {
+
+	private static SymbolInformation symbol(String name, String container, String uri, int line) {
+		SymbolInformation symbol = new SymbolInformation();
+		symbol.setName(name);
+		symbol.setKind(SymbolKind.Method);
+		symbol.setContainerName(container);
+		if (uri != null) {
+			symbol.setLocation(new Location(uri, new Range(new Position(line, 4), new Position(line + 1, 2))));
+		}
+		return symbol;
+	}
+
+	@Test
+	public void testKeepsSmallResultsInMemory() {
+		ResultBuffer buffer = new ResultBuffer(10);
+		buffer.add(symbol("add", "Calculator", "file:///Calculator.java", 1));
+		assertFalse(buffer.isSpilled());
+		assertEquals(1, buffer.release().size());
+	}
+
+	@Test
+	public void testSpillsPastThreshold() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		for (int i = 0; i < 2000; i++) {
+			symbols.add(symbol("m" + i, i % 3 == 0 ? null : "Sampleé", i % 5 == 0 ? null : "file:///F" + (i % 7) + ".java", i));
+		}
+		ResultBuffer buffer = new ResultBuffer(100);
+		for (SymbolInformation symbol : symbols) {
+			buffer.add(symbol);
+		}
+		assertTrue(buffer.isSpilled());
+		assertEquals(symbols.size(), buffer.size());
+		assertEquals(symbols.get(100), buffer.get(100));
+		assertEquals(symbols.get(1999), buffer.get(1999));
+		assertEquals(symbols, buffer.release());
+	}
+
+	@Test
+	public void testSpillsSnippets() {
+		ResultBuffer buffer = new ResultBuffer(0);
+		SymbolInformation symbol = new SnippetSymbolInformation(symbol("add", "Calculator", "file:///Calculator.java", 3), "  int a;\n  add(a);", 2);
+		buffer.add(symbol);
+		buffer.add(symbol("sum", null, null, 0));
+		assertTrue(buffer.isSpilled());
+		SnippetSymbolInformation read = (SnippetSymbolInformation) buffer.get(0);
+		assertEquals(symbol, read);
+		assertEquals("  int a;\n  add(a);", read.getSnippet());
+		assertEquals(2, read.getSnippetStartLine());
+		assertFalse(buffer.get(1) instanceof SnippetSymbolInformation);
+		buffer.close();
+	}
+
+	@Test
+	public void testSpillFailureKeepsOrder() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			symbols.add(symbol("m" + i, "Sample", "file:///Sample.java", i));
+		}
+		ResultBuffer buffer = new ResultBuffer(2);
+		for (SymbolInformation symbol : symbols.subList(0, 5)) {
+			buffer.add(symbol);
+		}
+		assertTrue(buffer.isSpilled());
+		// what add falls back to when the file can not be written
+		buffer.keepInMemory();
+		assertFalse(buffer.isSpilled());
+		assertEquals(symbols.subList(0, 5), buffer);
+		buffer.add(symbols.get(5));
+		assertFalse("Symbols should stay in memory once spilling failed", buffer.isSpilled());
+		assertEquals(symbols, buffer.release());
+	}
+
+	@Test
+	public void testDefaultThresholdSpillsBeforeTheResultCap() {
+		ResultBuffer buffer = new ResultBuffer();
+		SymbolInformationTypeRequestor requestor = new SymbolInformationTypeRequestor(new ResultCollector(buffer), 0, null, 10, "java.util.List", null, null);
+		int line = 0;
+		while (!requestor.isLimitReached()) {
+			requestor.addSymbol(symbol("m" + line, "Sample", "file:///Sample.java", line++), null);
+		}
+		assertTrue("A search stopping at its result cap should have spilled", buffer.isSpilled());
+		assertEquals(SymbolInformationTypeRequestor.DEFAULT_MAX_RESULTS, buffer.size());
+		buffer.close();
+	}
+}
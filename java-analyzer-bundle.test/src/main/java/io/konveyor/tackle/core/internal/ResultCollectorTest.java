@@ -0,0 +1,109 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+
+public class ResultCollectorTest {
+
+	private static SymbolInformation symbol(String name, SymbolKind kind, String uri, int line, int start, int endLine, int end) {
+		SymbolInformation symbol = new SymbolInformation();
+		symbol.setName(name);
+		symbol.setKind(kind);
+		symbol.setLocation(new Location(uri, new Range(new Position(line, start), new Position(endLine, end))));
+		return symbol;
+	}
+
+	@Test
+	public void testDropsDuplicates() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		ResultCollector collector = new ResultCollector(symbols);
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertFalse(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertEquals(1, symbols.size());
+		assertEquals(1, collector.getDuplicates());
+	}
+
+	@Test
+	public void testKeepsDistinctSymbols() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		ResultCollector collector = new ResultCollector(symbols);
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///B.java", 10, 4, 10, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 5, 10, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 11, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Class, "file:///A.java", 10, 4, 10, 7)));
+		// variables of one declaration statement share the location of the match
+		assertTrue(collector.add(symbol("sum", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertEquals(6, symbols.size());
+		assertEquals(0, collector.getDuplicates());
+	}
+
+	@Test
+	public void testRangesOutsideThePacking() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		ResultCollector collector = new ResultCollector(symbols);
+		assertTrue(collector.add(symbol("data", SymbolKind.Field, "file:///A.java", 0, 100000, 0, 100010)));
+		assertFalse(collector.add(symbol("data", SymbolKind.Field, "file:///A.java", 0, 100000, 0, 100010)));
+		SymbolInformation withoutLocation = new SymbolInformation();
+		withoutLocation.setName("data");
+		assertTrue(collector.add(withoutLocation));
+		assertEquals(2, symbols.size());
+	}
+
+	@Test
+	public void testGrows() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		ResultCollector collector = new ResultCollector(symbols);
+		for (int i = 0; i < 5000; i++) {
+			assertTrue(collector.add(symbol("m", SymbolKind.Method, "file:///F" + (i % 7) + ".java", i, 1, i, 2)));
+		}
+		for (int i = 0; i < 5000; i++) {
+			assertFalse(collector.add(symbol("m", SymbolKind.Method, "file:///F" + (i % 7) + ".java", i, 1, i, 2)));
+		}
+		assertEquals(5000, symbols.size());
+		assertEquals(5000, collector.getDuplicates());
+	}
+
+	@Test
+	public void testCountsWithoutKeepingSymbols() {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		ResultCollector collector = new ResultCollector(symbols, ResultMode.COUNT_BY_FILE);
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertFalse(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 10, 4, 10, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///A.java", 12, 4, 12, 7)));
+		assertTrue(collector.add(symbol("add", SymbolKind.Method, "file:///B.java", 10, 4, 10, 7)));
+		assertTrue(symbols.isEmpty());
+		assertEquals(3, collector.getCount());
+		assertEquals(Integer.valueOf(2), collector.getCountsByFile().get("file:///A.java"));
+		assertEquals(Integer.valueOf(1), collector.getCountsByFile().get("file:///B.java"));
+	}
+
+	@Test
+	public void testCountsAreNotCapped() {
+		ResultCollector collector = new ResultCollector(new ArrayList<>(), ResultMode.COUNT);
+		SymbolInformationTypeRequestor requestor = new SymbolInformationTypeRequestor(collector, 0, null, 10, "java.util.List", null, null);
+		for (int i = 0; i <= SymbolInformationTypeRequestor.DEFAULT_MAX_RESULTS; i++) {
+			requestor.addSymbol(symbol("m" + i, SymbolKind.Method, "file:///A.java", i, 4, i, 7), null);
+		}
+		assertFalse(requestor.isLimitReached());
+		assertEquals(SymbolInformationTypeRequestor.DEFAULT_MAX_RESULTS + 1, SymbolCountResult.of(ResultMode.COUNT, collector).getCount());
+
+		collector = new ResultCollector(new ArrayList<>(), ResultMode.FULL);
+		requestor = new SymbolInformationTypeRequestor(collector, 0, null, 10, "java.util.List", null, null);
+		for (int i = 0; i < SymbolInformationTypeRequestor.DEFAULT_MAX_RESULTS; i++) {
+			requestor.addSymbol(symbol("m" + i, SymbolKind.Method, "file:///A.java", i, 4, i, 7), null);
+		}
+		assertTrue(requestor.isLimitReached());
+	}
+}
@@ -0,0 +1,73 @@
+package io.konveyor.tackle.core.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.lsp4j.Location;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
+import org.junit.Test;
+
+public class ResultCursorStoreTest {
+
+	private long now;
+
+	private static List<SymbolInformation> symbols(int count) {
+		List<SymbolInformation> symbols = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			SymbolInformation symbol = new SymbolInformation();
+			symbol.setName("m" + i);
+			symbol.setKind(SymbolKind.Method);
+			symbol.setContainerName("Sample");
+			symbol.setLocation(new Location("file:///Sample.java", new Range(new Position(i, 4), new Position(i, 6))));
+			symbols.add(symbol);
+		}
+		return symbols;
+	}
+
+	@Test
+	public void testPages() {
+		ResultCursorStore store = new ResultCursorStore(1000, () -> now);
+		List<SymbolInformation> symbols = symbols(5);
+
+		ResultPage page = store.firstPage(symbols, 2, false);
+		assertNotNull(page.getCursor());
+		assertEquals(0, page.getOffset());
+		assertEquals(5, page.getTotal());
+		assertEquals(symbols.subList(0, 2), page.getSymbols());
+
+		String cursor = page.getCursor();
+		page = store.nextPage(cursor, 0);
+		assertEquals(cursor, page.getCursor());
+		assertEquals(2, page.getOffset());
+		assertEquals(symbols.subList(2, 4), page.getSymbols());
+
+		page = store.nextPage(cursor, 10);
+		assertNull(page.getCursor());
+		assertEquals(symbols.subList(4, 5), page.getSymbols());
+		assertEquals(0, store.size());
+	}
+
+	@Test
+	public void testSinglePage() {
+		ResultCursorStore store = new ResultCursorStore(1000, () -> now);
+		ResultPage page = store.firstPage(symbols(3), 3, true);
+		assertNull(page.getCursor());
+		assertEquals(3, ((CompactSymbolResult) page.getSymbols()).size());
+		assertEquals(0, store.size());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testExpiredCursor() {
+		ResultCursorStore store = new ResultCursorStore(1000, () -> now);
+		String cursor = store.firstPage(symbols(5), 2, false).getCursor();
+		now += 1001;
+		store.nextPage(cursor, 0);
+	}
+}
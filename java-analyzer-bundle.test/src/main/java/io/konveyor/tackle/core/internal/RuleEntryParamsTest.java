@@ -153,6 +153,26 @@ public class RuleEntryParamsTest {
 		assertEquals("/tmp/maven-index", ruleParams.getMavenIndexPath());
 	}
 
+	@Test
+	public void testTransitive() {
+		List<Object> arguments = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", "test-project");
+		params.put("query", "javax.ejb.EJBObject");
+		params.put("location", "1");
+		params.put("analysisMode", "full");
+		arguments.add(params);
+
+		// Not setting transitive
+		assertFalse(new RuleEntryParams("test-command", arguments).isTransitive());
+
+		params.put("transitive", true);
+		assertTrue(new RuleEntryParams("test-command", arguments).isTransitive());
+
+		params.put("transitive", false);
+		assertFalse(new RuleEntryParams("test-command", arguments).isTransitive());
+	}
+
 	@Test
 	public void testAllLocations() {
 		// Test all valid location types
@@ -215,6 +235,59 @@ public class RuleEntryParamsTest {
 		assertNull(ruleParams.getAnnotationQuery());
 	}
 
+	@Test
+	public void testResultFormat() {
+		List<Object> arguments = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", "test-project");
+		params.put("query", "java.util.List");
+		params.put("location", "10");
+		params.put("analysisMode", "full");
+		arguments.add(params);
+
+		RuleEntryParams ruleParams = new RuleEntryParams("test-command", arguments);
+		assertNull(ruleParams.getResultFormat());
+		assertFalse(ruleParams.isCompactResult());
+
+		params.put("resultFormat", "compact");
+		ruleParams = new RuleEntryParams("test-command", arguments);
+		assertEquals("compact", ruleParams.getResultFormat());
+		assertTrue(ruleParams.isCompactResult());
+	}
+
+	@Test
+	public void testResultMode() {
+		List<Object> arguments = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", "test-project");
+		params.put("query", "java.util.List");
+		params.put("location", "10");
+		params.put("analysisMode", "full");
+		arguments.add(params);
+
+		assertEquals(ResultMode.FULL, new RuleEntryParams("test-command", arguments).getResultMode());
+
+		params.put("resultMode", "exists");
+		assertEquals(ResultMode.EXISTS, new RuleEntryParams("test-command", arguments).getResultMode());
+
+		params.put("resultMode", "countByFile");
+		assertEquals(ResultMode.COUNT_BY_FILE, new RuleEntryParams("test-command", arguments).getResultMode());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testInvalidResultMode() {
+		List<Object> arguments = new ArrayList<>();
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", "test-project");
+		params.put("query", "java.util.List");
+		params.put("location", "10");
+		params.put("analysisMode", "full");
+		params.put("resultMode", "all");
+		arguments.add(params);
+
+		new RuleEntryParams("test-command", arguments);
+	}
+
 	@Test(expected = UnsupportedOperationException.class)
 	public void testMissingArguments() {
 		List<Object> arguments = new ArrayList<>();
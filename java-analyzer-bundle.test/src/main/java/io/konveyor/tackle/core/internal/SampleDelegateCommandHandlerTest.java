@@ -8,8 +8,14 @@ import static org.junit.Assert.fail;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Collections;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.eclipse.lsp4j.SymbolKind;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -60,6 +66,31 @@ public class SampleDelegateCommandHandlerTest {
 		assertNotNull(result);
 	}
 
+	@Test
+	public void testRuleEntryWithPipelinedMode() throws Exception {
+		List<Object> params = new ArrayList<>();
+		Map<String, String> param = Map.of(
+			"project", "test-project",
+			"query", "java.io.*",
+			"location", "10",
+			"analysisMode", "pipelined"
+		);
+		params.add(param);
+
+		List<Object> result = (List<Object>) commandHandler.executeCommand(SampleDelegateCommandHandler.RULE_ENTRY_COMMAND_ID, params, null);
+		assertNotNull(result);
+
+		List<Object> fullParams = new ArrayList<>();
+		Map<String, String> fullParam = new HashMap<>(param);
+		fullParam.put("analysisMode", "full");
+		fullParams.add(fullParam);
+		List<Object> fullResult = (List<Object>) commandHandler.executeCommand(SampleDelegateCommandHandler.RULE_ENTRY_COMMAND_ID, fullParams, null);
+		// the same symbols, libraries are only searched later
+		assertTrue(!fullResult.isEmpty());
+		assertEquals(new HashSet<>(fullResult), new HashSet<>(result));
+		assertEquals(fullResult.size(), result.size());
+	}
+
 	@Test
 	public void testRuleEntryWithMethodCallLocation() throws Exception {
 		List<Object> params = new ArrayList<>();
@@ -247,4 +278,40 @@ public class SampleDelegateCommandHandlerTest {
 		List<Object> result = (List<Object>) commandHandler.executeCommand(SampleDelegateCommandHandler.RULE_ENTRY_COMMAND_ID, params, null);
 		assertNotNull(result);
 	}
+
+	@Test
+	public void testSearchSpillsWithDefaultBuffer() throws Exception {
+		StringBuilder source = new StringBuilder("package a;\n\npublic class Fields {\n");
+		for (int i = 0; i <= ResultBuffer.DEFAULT_THRESHOLD; i++) {
+			source.append("\tjava.util.List f").append(i).append(";\n");
+		}
+		source.append("}");
+		IJavaProject javaProject = JavaUtils.createJavaProject("result-buffer-spill", Map.of("a/Fields.java", source.toString()));
+		try {
+			ResultCollector results = SampleDelegateCommandHandler.search("result-buffer-spill", null, "java.util.List", null, 10, "source-only",
+					false, null, null, false, ResultMode.FULL, 0, new NullProgressMonitor());
+			ResultBuffer buffer = (ResultBuffer) results.getSymbols();
+			assertTrue("The default threshold should be reached before the result cap", buffer.isSpilled());
+			assertEquals(ResultBuffer.DEFAULT_THRESHOLD + 1, buffer.size());
+			buffer.close();
+		} finally {
+			javaProject.getProject().delete(true, true, null);
+		}
+	}
+
+	@Test
+	public void testDefaultLocationReportsConstructorCallOnce() throws Exception {
+		IJavaProject javaProject = JavaUtils.createJavaProject("default-location-constructor", Map.of(
+				"a/Widget.java", "package a;\n\npublic class Widget {\n\tpublic Widget() {\n\t}\n}",
+				"a/User.java", "package a;\n\npublic class User {\n\tvoid make() {\n\t\tnew Widget();\n\t}\n}"));
+		try {
+			List<SymbolInformation> symbols = SampleDelegateCommandHandler.search("default-location-constructor", null, "Widget", null, 0, "source-only",
+					false, null, null, new NullProgressMonitor());
+			// the method call provider takes the constructor call, the constructor call provider is not asked
+			assertTrue(symbols.stream().anyMatch(s -> s.getName().equals("make")));
+			assertTrue(symbols.stream().noneMatch(s -> s.getKind() == SymbolKind.Constructor));
+		} finally {
+			javaProject.getProject().delete(true, true, null);
+		}
+	}
 }
@@ -0,0 +1,204 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.JavaUtils;
+import io.konveyor.tackle.core.internal.SampleDelegateCommandHandler;
+import io.konveyor.tackle.core.internal.query.AnnotationQuery;
+
+public class AnnotationIndexTest {
+
+	private static final String PROJECT = "annotation-index";
+
+	private static IJavaProject javaProject;
+
+	@BeforeClass
+	public static void setUpProject() throws Exception {
+		Map<String, String> sources = new HashMap<>();
+		sources.put("b/Audited.java", String.join("\n",
+				"package b;",
+				"",
+				"public @interface Audited {",
+				"	String value() default \"\";",
+				"}"));
+		sources.put("b/Audits.java", String.join("\n",
+				"package b;",
+				"",
+				"public @interface Audits {",
+				"	Audited[] value();",
+				"}"));
+		sources.put("a/Base.java", String.join("\n",
+				"package a;",
+				"",
+				"public interface Base {",
+				"}"));
+		sources.put("a/AuditedService.java", String.join("\n",
+				"package a;",
+				"",
+				"import b.Audited;",
+				"",
+				"@Audited(\"service\")",
+				"public class AuditedService implements Base {",
+				"	@Audited",
+				"	private Base delegate;",
+				"",
+				"	@Audited",
+				"	public Base find() {",
+				"		return delegate;",
+				"	}",
+				"}"));
+		sources.put("a/NestedService.java", String.join("\n",
+				"package a;",
+				"",
+				"import b.Audited;",
+				"import b.Audits;",
+				"",
+				"@Audits({ @Audited(\"nested\") })",
+				"public class NestedService implements Base {",
+				"}"));
+		sources.put("a/PlainService.java", String.join("\n",
+				"package a;",
+				"",
+				"public class PlainService implements Base {",
+				"	private Base delegate;",
+				"",
+				"	public Base find() {",
+				"		return delegate;",
+				"	}",
+				"}"));
+		sources.put("a/LocalService.java", String.join("\n",
+				"package a;",
+				"",
+				"import b.Audited;",
+				"",
+				"public class LocalService {",
+				"	public Object create() {",
+				"		return new Object() {",
+				"			@Audited",
+				"			public void run() {",
+				"			}",
+				"		};",
+				"	}",
+				"}"));
+		javaProject = JavaUtils.createJavaProject(PROJECT, sources);
+	}
+
+	@AfterClass
+	public static void deleteProject() throws Exception {
+		javaProject.getProject().delete(true, true, null);
+	}
+
+	@Test
+	public void testFindAnnotatedUnits() throws Exception {
+		AnnotationQuery query = new AnnotationQuery("b.Audited", new HashMap<>(), false);
+		List<ICompilationUnit> annotated = AnnotationIndex.getInstance().findAnnotatedUnits(query, getUnits());
+		// nested annotations and members of anonymous types count
+		assertEquals(Set.of("AuditedService.java", "NestedService.java", "LocalService.java"), names(annotated));
+
+		AnnotationQuery other = new AnnotationQuery("javax.ejb.Stateless", new HashMap<>(), false);
+		assertTrue(AnnotationIndex.getInstance().findAnnotatedUnits(other, getUnits()).isEmpty());
+	}
+
+	@Test
+	public void testDeletedUnitsAreDropped() throws Exception {
+		IFile file = javaProject.getProject().getFile("src/a/Removed.java");
+		file.create(new ByteArrayInputStream("package a;\n\n@b.Audited\npublic class Removed {\n}\n".getBytes()), true, null);
+		ICompilationUnit removed = JavaCore.createCompilationUnitFrom(file);
+		AnnotationQuery query = new AnnotationQuery("b.Audited", new HashMap<>(), false);
+		assertTrue(AnnotationIndex.getInstance().findAnnotatedUnits(query, getUnits()).contains(removed));
+		assertTrue(AnnotationIndex.getInstance().contains(removed));
+
+		file.delete(true, null);
+		AnnotationIndex.getInstance().findAnnotatedUnits(query, getUnits());
+		assertFalse(AnnotationIndex.getInstance().contains(removed));
+	}
+
+	/*
+	 * The search is narrowed to the annotated units, the symbols must still be the annotated ones
+	 * for every location that starts from the annotation side.
+	 */
+	@Test
+	public void testImplementsTypeLocation() throws Exception {
+		assertEquals(Set.of("AuditedService.java#AuditedService", "NestedService.java#NestedService"), search("a.Base", "5"));
+	}
+
+	@Test
+	public void testTypeLocation() throws Exception {
+		assertEquals(Set.of("AuditedService.java#AuditedService", "AuditedService.java#find", "NestedService.java#NestedService"), search("a.Base", "10"));
+	}
+
+	@Test
+	public void testFieldLocation() throws Exception {
+		assertEquals(Set.of("AuditedService.java#delegate"), search("a.Base", "12"));
+	}
+
+	@Test
+	public void testMethodDeclarationLocation() throws Exception {
+		assertEquals(Set.of("AuditedService.java#find"), search("a.*.find", "13"));
+	}
+
+	@Test
+	public void testClassDeclarationLocation() throws Exception {
+		assertEquals(Set.of("AuditedService.java#AuditedService", "NestedService.java#NestedService"), search("a.*Service", "14"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Set<String> search(String query, String location) throws Exception {
+		Map<String, Object> annotationQuery = new HashMap<>();
+		annotationQuery.put("pattern", "b.Audited");
+		annotationQuery.put("elements", new ArrayList<>());
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", PROJECT);
+		params.put("query", query);
+		params.put("location", location);
+		params.put("analysisMode", "source-only");
+		params.put("annotationQuery", annotationQuery);
+		List<SymbolInformation> symbols = (List<SymbolInformation>) new SampleDelegateCommandHandler()
+				.executeCommand(SampleDelegateCommandHandler.RULE_ENTRY_COMMAND_ID, List.of(params), null);
+		// the same names are declared in the plain units, symbols are told apart by their file
+		return symbols.stream()
+				.map(symbol -> symbol.getLocation().getUri().substring(symbol.getLocation().getUri().lastIndexOf('/') + 1) + "#" + symbol.getName())
+				.collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private static List<ICompilationUnit> getUnits() throws Exception {
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (IPackageFragmentRoot root : javaProject.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+				continue;
+			}
+			for (var child : root.getChildren()) {
+				for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+					units.add(unit);
+				}
+			}
+		}
+		return units;
+	}
+
+	private static Set<String> names(List<ICompilationUnit> units) {
+		return units.stream().map(ICompilationUnit::getElementName).collect(Collectors.toSet());
+	}
+}
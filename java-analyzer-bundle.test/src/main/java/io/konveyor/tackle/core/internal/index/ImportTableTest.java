@@ -0,0 +1,46 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class ImportTableTest {
+
+	@Test
+	public void testSingleTypeImportFirst() {
+		ImportTable table = new ImportTable(Arrays.asList("javax.persistence.*", "javax.ejb.Stateless", "javax.inject.*"));
+		assertEquals(List.of("javax.ejb.Stateless", "javax.persistence.Stateless", "javax.inject.Stateless"),
+				table.getFQNCandidates("Stateless"));
+	}
+
+	@Test
+	public void testSimpleNameMustMatchWholeSegment() {
+		ImportTable table = new ImportTable(Arrays.asList("com.example.MyEntity"));
+		assertNull(table.resolve("Entity"));
+		assertTrue(table.getFQNCandidates("Entity").isEmpty());
+		assertEquals("com.example.MyEntity", table.resolve("MyEntity"));
+	}
+
+	@Test
+	public void testQualifiedName() {
+		ImportTable table = new ImportTable(Arrays.asList("javax.ejb.*"));
+		assertEquals(List.of("com.example.MyAnnotation"), table.getFQNCandidates("com.example.MyAnnotation"));
+	}
+
+	@Test
+	public void testOnDemandPackages() {
+		ImportTable table = new ImportTable(Arrays.asList("javax.ejb.*", "java.util.List", "javax.inject.*"));
+		assertEquals(List.of("javax.ejb", "javax.inject"), table.getOnDemandPackages());
+	}
+
+	@Test
+	public void testEmpty() {
+		assertTrue(ImportTable.EMPTY.getFQNCandidates("Stateless").isEmpty());
+		assertTrue(ImportTable.EMPTY.getFQNCandidates(null).isEmpty());
+	}
+}
@@ -0,0 +1,97 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.index.PackageReferenceIndex.OccurrenceKind;
+import io.konveyor.tackle.core.internal.index.PackageReferenceIndex.PackageOccurrence;
+
+public class PackageReferenceIndexTest {
+
+	private static final String SOURCE = String.join("\n",
+			"package com.example.service;",
+			"import java.util.List;",
+			"import java.util.Map.Entry;",
+			"import javax.ejb.*;",
+			"import static org.junit.Assert.assertEquals;",
+			"class Sample {",
+			"	java.sql.Connection connection;",
+			"	void run(Sample other) {",
+			"		other.connection.close();",
+			"		java.util.Collections.emptyList();",
+			"		System.out.println();",
+			"	}",
+			"}");
+
+	private static List<PackageOccurrence> collect(String source) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(source.toCharArray());
+		return PackageReferenceIndex.collect(null, (CompilationUnit) parser.createAST(null));
+	}
+
+	// parsed against the running JRE, so the names of the source are bound
+	private static List<PackageOccurrence> collectWithBindings(String source) {
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setSource(source.toCharArray());
+		parser.setUnitName("Sample.java");
+		parser.setEnvironment(new String[0], new String[0], null, true);
+		parser.setResolveBindings(true);
+		return PackageReferenceIndex.collect(null, (CompilationUnit) parser.createAST(null));
+	}
+
+	private static List<String> names(List<PackageOccurrence> occurrences, OccurrenceKind kind) {
+		return occurrences.stream().filter(o -> o.getKind() == kind).map(PackageOccurrence::getPackageName)
+				.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testImports() {
+		assertEquals(List.of("java.util", "java.util", "javax.ejb", "org.junit"), names(collect(SOURCE), OccurrenceKind.IMPORT));
+	}
+
+	@Test
+	public void testQualifiedNames() {
+		assertEquals(List.of("java.sql", "java.util"), names(collect(SOURCE), OccurrenceKind.REFERENCE));
+	}
+
+	@Test
+	public void testOccurrenceRanges() {
+		for (PackageOccurrence occurrence : collect(SOURCE)) {
+			assertEquals(occurrence.getPackageName(),
+					SOURCE.substring(occurrence.getOffset(), occurrence.getOffset() + occurrence.getLength()));
+		}
+		PackageOccurrence onDemand = collect(SOURCE).get(2);
+		assertEquals("javax.ejb.*", onDemand.getImportName());
+	}
+
+	@Test
+	public void testQualifiedNamesWithBindings() {
+		String source = String.join("\n",
+				"package com.example.service;",
+				"import java.util.*;",
+				"import javax.ejb.EJBContext;",
+				"class Sample {",
+				"	static class Holder {",
+				"		Holder field;",
+				"		static final int CONSTANT = 1;",
+				"	}",
+				"	int run(Holder variable) {",
+				"		java.sql.Connection connection = null;",
+				"		return variable.field.CONSTANT + java.util.Collections.emptyList().size();",
+				"	}",
+				"}");
+		List<PackageOccurrence> occurrences = collectWithBindings(source);
+		// the heuristic takes variable.field for a package
+		assertEquals(List.of("java.sql", "variable.field", "java.util"), names(collect(source), OccurrenceKind.REFERENCE));
+		assertEquals(List.of("java.sql", "java.util"), names(occurrences, OccurrenceKind.REFERENCE));
+		// unbound names (javax.ejb is not on the classpath) fall back to the heuristic
+		assertEquals(List.of("java.util", "javax.ejb"), names(occurrences, OccurrenceKind.IMPORT));
+	}
+}
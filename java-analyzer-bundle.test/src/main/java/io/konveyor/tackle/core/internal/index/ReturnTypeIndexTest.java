@@ -0,0 +1,134 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.JavaUtils;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+public class ReturnTypeIndexTest {
+
+	private static final String SERVICE = String.join("\n",
+			"package a;",
+			"",
+			"import java.util.List;",
+			"",
+			"public class Service {",
+			"	/** names */",
+			"	public java.util.List<String> names() {",
+			"		return null;",
+			"	}",
+			"",
+			"	public Runnable create() {",
+			"		class Local {",
+			"			List<String>[] local() {",
+			"				return null;",
+			"			}",
+			"		}",
+			"		return new Runnable() {",
+			"			public void run() {",
+			"			}",
+			"",
+			"			public List<List<String>> anonymous() {",
+			"				return null;",
+			"			}",
+			"		};",
+			"	}",
+			"}");
+
+	private static final String BUILDERS = String.join("\n",
+			"package a;",
+			"",
+			"public class Builders {",
+			"	public static class A {",
+			"		public static class Builder {",
+			"		}",
+			"",
+			"		public Builder a() {",
+			"			return null;",
+			"		}",
+			"	}",
+			"",
+			"	public static class B {",
+			"		public static class Builder {",
+			"		}",
+			"",
+			"		public Builder b() {",
+			"			return null;",
+			"		}",
+			"	}",
+			"}");
+
+	private static IJavaProject javaProject;
+	private static ICompilationUnit unit;
+	private static ICompilationUnit builders;
+
+	@BeforeClass
+	public static void setUpProject() throws Exception {
+		javaProject = JavaUtils.createJavaProject("return-type-index", Map.of("a/Service.java", SERVICE, "a/Builders.java", BUILDERS));
+		unit = javaProject.findType("a.Service").getCompilationUnit();
+		builders = javaProject.findType("a.Builders").getCompilationUnit();
+	}
+
+	@AfterClass
+	public static void deleteProject() throws Exception {
+		javaProject.getProject().delete(true, true, null);
+	}
+
+	@Test
+	public void testFindMethodsOfLocalAndAnonymousTypes() throws Exception {
+		List<IMethod> methods = ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile("java.util.List"), List.of(unit));
+		// a query without dimensions matches arrays too
+		assertEquals(Set.of("names", "local", "anonymous"), names(methods));
+
+		methods = ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile("java.util.List[]"), List.of(unit));
+		assertEquals(Set.of("local"), names(methods));
+	}
+
+	@Test
+	public void testMatchOnReturnType() throws Exception {
+		List<IMethod> methods = ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile("java.util.List"), List.of(unit));
+		for (IMethod method : methods) {
+			SearchMatch match = ReturnTypeIndex.toSearchMatch(method, SearchEngine.getDefaultSearchParticipant());
+			String reference = SERVICE.substring(match.getOffset(), match.getOffset() + match.getLength());
+			assertEquals(method.getElementName().equals("names") ? "java.util.List" : "List", reference);
+		}
+		assertEquals(3, methods.size());
+	}
+
+	@Test
+	public void testSameNameInSeveralTypes() throws Exception {
+		// each name is resolved against the type declaring the method
+		assertEquals(Set.of("a"), names(ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile("a.Builders.A.Builder"), List.of(builders))));
+		assertEquals(Set.of("b"), names(ReturnTypeIndex.getInstance().findMethods(RuleQuery.compile("a.Builders.B.Builder"), List.of(builders))));
+	}
+
+	@Test
+	public void testFindLastTypeName() {
+		assertArrayEquals(new int[] { 7, 13 }, ReturnTypeIndex.findLastTypeName("public String ".toCharArray()));
+		assertArrayEquals(new int[] { 0, 14 }, ReturnTypeIndex.findLastTypeName("java.util.List<String>[][] ".toCharArray()));
+		assertArrayEquals(new int[] { 21, 24 }, ReturnTypeIndex.findLastTypeName("/** doc */ @Override Map<String, List<Set<String>>> ".toCharArray()));
+		assertArrayEquals(new int[] { 4, 5 }, ReturnTypeIndex.findLastTypeName("<T> T ".toCharArray()));
+		assertNull(ReturnTypeIndex.findLastTypeName("public int ".toCharArray()));
+		assertNull(ReturnTypeIndex.findLastTypeName("public void ".toCharArray()));
+	}
+
+	private static Set<String> names(List<IMethod> methods) {
+		return methods.stream().map(IMethod::getElementName).collect(Collectors.toSet());
+	}
+}
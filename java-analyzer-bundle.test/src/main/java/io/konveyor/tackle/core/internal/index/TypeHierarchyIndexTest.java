@@ -0,0 +1,179 @@
+package io.konveyor.tackle.core.internal.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.JavaUtils;
+import io.konveyor.tackle.core.internal.SampleDelegateCommandHandler;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+public class TypeHierarchyIndexTest {
+
+	private static final String PROJECT = "type-hierarchy-index";
+	private static final String OTHER_PROJECT = "type-hierarchy-index-other";
+
+	private static IJavaProject javaProject;
+	private static IJavaProject otherProject;
+
+	@BeforeClass
+	public static void setUpProjects() throws Exception {
+		Map<String, String> sources = new HashMap<>();
+		sources.put("b/Audited.java", String.join("\n",
+				"package b;",
+				"",
+				"public @interface Audited {",
+				"}"));
+		sources.put("a/Root.java", String.join("\n",
+				"package a;",
+				"",
+				"public interface Root {",
+				"}"));
+		sources.put("a/Middle.java", String.join("\n",
+				"package a;",
+				"",
+				"public interface Middle extends Root {",
+				"}"));
+		sources.put("a/AuditedImpl.java", String.join("\n",
+				"package a;",
+				"",
+				"@b.Audited",
+				"public class AuditedImpl implements Middle {",
+				"}"));
+		sources.put("a/PlainImpl.java", String.join("\n",
+				"package a;",
+				"",
+				"public class PlainImpl extends AuditedImpl {",
+				"}"));
+		sources.put("a/Holder.java", String.join("\n",
+				"package a;",
+				"",
+				"public class Holder {",
+				"	public Root create() {",
+				"		class Local implements Middle {",
+				"		}",
+				"		return new Root() {",
+				"		};",
+				"	}",
+				"}"));
+		sources.put("c/Dup.java", String.join("\n",
+				"package c;",
+				"",
+				"public class Dup implements java.io.Serializable {",
+				"}"));
+		javaProject = JavaUtils.createJavaProject(PROJECT, sources);
+		// the same type name, declared with another supertype
+		otherProject = JavaUtils.createJavaProject(OTHER_PROJECT, Map.of("c/Dup.java", String.join("\n",
+				"package c;",
+				"",
+				"public class Dup implements java.lang.Runnable {",
+				"	public void run() {",
+				"	}",
+				"}")));
+	}
+
+	@AfterClass
+	public static void deleteProjects() throws Exception {
+		javaProject.getProject().delete(true, true, null);
+		otherProject.getProject().delete(true, true, null);
+	}
+
+	@Test
+	public void testFindSubtypesTransitive() throws Exception {
+		List<IType> types = TypeHierarchyIndex.getInstance().findSubtypes(RuleQuery.compile("a.Root"), getUnits(javaProject));
+		// anonymous types have no name
+		assertEquals(Set.of("Middle", "AuditedImpl", "PlainImpl", "Local", ""), names(types));
+		assertEquals(Set.of("a.Middle"), TypeHierarchyIndex.getInstance().getSupertypes("a.AuditedImpl"));
+	}
+
+	@Test
+	public void testFindSubtypesOfCandidatesOnly() throws Exception {
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (ICompilationUnit unit : getUnits(javaProject)) {
+			if (!unit.getElementName().equals("Holder.java")) {
+				units.add(unit);
+			}
+		}
+		assertEquals(Set.of("Middle", "AuditedImpl", "PlainImpl"), names(TypeHierarchyIndex.getInstance().findSubtypes(RuleQuery.compile("a.Root"), units)));
+	}
+
+	@Test
+	public void testSameNameInSeveralUnits() throws Exception {
+		List<ICompilationUnit> units = getUnits(javaProject);
+		units.addAll(getUnits(otherProject));
+
+		List<IType> serializable = TypeHierarchyIndex.getInstance().findSubtypes(RuleQuery.compile("java.io.Serializable"), units);
+		assertEquals(List.of(PROJECT), projects(serializable, "Dup"));
+		List<IType> runnable = TypeHierarchyIndex.getInstance().findSubtypes(RuleQuery.compile("java.lang.Runnable"), units);
+		assertEquals(List.of(OTHER_PROJECT), projects(runnable, "Dup"));
+		assertEquals(Set.of("java.io.Serializable", "java.lang.Runnable"), TypeHierarchyIndex.getInstance().getSupertypes("c.Dup"));
+	}
+
+	/*
+	 * Matches of the index are not resolved handles, the annotation query must still see them.
+	 */
+	@Test
+	public void testTransitiveAnnotated() throws Exception {
+		assertEquals(Set.of("AuditedImpl"), search("a.Root", true));
+		assertTrue(search("a.Root", false).isEmpty());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Set<String> search(String query, boolean transitive) throws Exception {
+		Map<String, Object> annotationQuery = new HashMap<>();
+		annotationQuery.put("pattern", "b.Audited");
+		annotationQuery.put("elements", new ArrayList<>());
+		Map<String, Object> params = new HashMap<>();
+		params.put("project", PROJECT);
+		params.put("query", query);
+		params.put("location", "5");
+		params.put("analysisMode", "source-only");
+		params.put("transitive", transitive);
+		params.put("annotationQuery", annotationQuery);
+		List<SymbolInformation> symbols = (List<SymbolInformation>) new SampleDelegateCommandHandler()
+				.executeCommand(SampleDelegateCommandHandler.RULE_ENTRY_COMMAND_ID, List.of(params), null);
+		return symbols.stream().map(SymbolInformation::getName).collect(Collectors.toCollection(TreeSet::new));
+	}
+
+	private static List<ICompilationUnit> getUnits(IJavaProject project) throws Exception {
+		List<ICompilationUnit> units = new ArrayList<>();
+		for (IPackageFragmentRoot root : project.getPackageFragmentRoots()) {
+			if (root.getKind() != IPackageFragmentRoot.K_SOURCE) {
+				continue;
+			}
+			for (IJavaElement child : root.getChildren()) {
+				for (ICompilationUnit unit : ((IPackageFragment) child).getCompilationUnits()) {
+					units.add(unit);
+				}
+			}
+		}
+		return units;
+	}
+
+	private static Set<String> names(List<IType> types) {
+		return types.stream().map(IType::getElementName).collect(Collectors.toSet());
+	}
+
+	private static List<String> projects(List<IType> types, String name) {
+		return types.stream().filter(t -> t.getElementName().equals(name))
+				.map(t -> t.getJavaProject().getElementName()).collect(Collectors.toList());
+	}
+}
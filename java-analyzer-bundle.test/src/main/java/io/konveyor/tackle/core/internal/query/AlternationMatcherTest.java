@@ -0,0 +1,96 @@
+package io.konveyor.tackle.core.internal.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class AlternationMatcherTest {
+
+	@Test
+	public void testExpandWithoutGroups() {
+		assertEquals(Collections.singletonList("java.io.File*"), AlternationMatcher.expand("java.io.File*"));
+	}
+
+	@Test
+	public void testExpandSingleGroup() {
+		assertEquals(Arrays.asList("java.io.FileWriter*", "java.io.FileReader*"),
+				AlternationMatcher.expand("java.io.(FileWriter|FileReader)*"));
+	}
+
+	@Test
+	public void testExpandRedundantParentheses() {
+		assertEquals(Arrays.asList("java.io.FileWriter*", "java.io.FileReader*"),
+				AlternationMatcher.expand("java.io.((FileWriter|FileReader))*"));
+	}
+
+	@Test
+	public void testExpandMultipleGroups() {
+		assertEquals(Arrays.asList("javax.ejb.Stateless", "javax.ejb.Stateful", "jakarta.ejb.Stateless", "jakarta.ejb.Stateful"),
+				AlternationMatcher.expand("(javax|jakarta).ejb.(Stateless|Stateful)"));
+	}
+
+	@Test
+	public void testExpandNestedGroups() {
+		assertEquals(Arrays.asList("javax.ejb.Stateless", "javax.ejb.Stateful", "javax.inject.Inject"),
+				AlternationMatcher.expand("javax.(ejb.(Stateless|Stateful)|inject.Inject)"));
+	}
+
+	@Test
+	public void testExpandOptionalGroup() {
+		assertEquals(Arrays.asList("java.sql.DriverManager.getConnection", "java.sql.DriverManager.getDriver", "java.sql.DriverManager."),
+				AlternationMatcher.expand("java.sql.DriverManager.(getConnection|getDriver)?"));
+	}
+
+	@Test
+	public void testExpandKeepsParameterList() {
+		assertEquals(Arrays.asList("java.util.Properties.setProperty(java.lang.String, java.lang.String)"),
+				AlternationMatcher.expand("java.util.Properties.setProperty(java.lang.String, java.lang.String)"));
+		assertEquals(Arrays.asList("a.B.m(java.lang.String)", "a.B.m(java.lang.Object)"),
+				AlternationMatcher.expand("a.B.m(java.lang.(String|Object))"));
+	}
+
+	@Test
+	public void testExpandUnbalancedParentheses() {
+		assertEquals(Collections.singletonList("java.io.(File|Path"), AlternationMatcher.expand("java.io.(File|Path"));
+	}
+
+	@Test
+	public void testMatchesLiteralsAndPrefixes() {
+		AlternationMatcher matcher = AlternationMatcher.compile("java.io.(FileWriter|FileReader).*");
+		assertTrue(matcher.matches("java.io.FileWriter"));
+		assertTrue(matcher.matches("java.io.FileWriter.write"));
+		assertTrue(matcher.matches("java.io.FileReader.read"));
+		assertFalse(matcher.matches("java.io.File"));
+		assertFalse(matcher.matches("java.io.PrintStream.println"));
+
+		matcher = AlternationMatcher.compile("(javax|jakarta).ejb.(Stateless|Stateful)");
+		assertTrue(matcher.matches("jakarta.ejb.Stateful"));
+		assertFalse(matcher.matches("jakarta.ejb.Stateful.value"));
+		assertFalse(matcher.matches("jakarta.ejb"));
+	}
+
+	@Test
+	public void testMatchesRegexFallback() {
+		AlternationMatcher matcher = AlternationMatcher.compile("java.util.(Map|List).*.get");
+		assertTrue(matcher.matches("java.util.List.get"));
+		assertTrue(matcher.matches("java.util.ListOfThings.get"));
+		assertTrue(matcher.matches("java.util.Map.get"));
+		assertFalse(matcher.matches("java.util.Set.get"));
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		AlternationMatcher matcher = AlternationMatcher.compile("java.io.(FileWriter|FileReader)");
+		assertTrue(matcher == AlternationMatcher.compile("java.io.(FileWriter|FileReader)"));
+		for (int i = 0; i < 1000; i++) {
+			AlternationMatcher.compile("com.example.Type" + i);
+		}
+		assertTrue(AlternationMatcher.cacheSize() <= 256);
+		assertTrue(AlternationMatcher.compile("com.example.Type999").matches("com.example.Type999"));
+	}
+}
@@ -0,0 +1,115 @@
+package io.konveyor.tackle.core.internal.query;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class RuleQueryTest {
+
+	@Test
+	public void testCompileIsCached() {
+		assertSame(RuleQuery.compile("java.io.File"), RuleQuery.compile("java.io.File"));
+	}
+
+	@Test
+	public void testCacheIsBounded() {
+		for (int i = 0; i < 1000; i++) {
+			RuleQuery.compile("com.example.Type" + i + ".method(java.lang.String)");
+		}
+		assertTrue(RuleQuery.cacheSize() <= 256);
+		assertEquals("com.example.Type999.method(java.lang.String)", RuleQuery.compile("com.example.Type999.method(java.lang.String)").getQuery());
+	}
+
+	@Test
+	public void testParameterList() {
+		RuleQuery query = RuleQuery.compile("java.util.Properties.setProperty(java.lang.String, *)");
+		assertEquals(Arrays.asList("java.lang.String", "*"), query.getParameterTypes());
+		assertEquals("java.util.Properties.setProperty", query.getFqnPattern());
+		assertTrue(query.isQualified());
+	}
+
+	@Test
+	public void testNoParameterList() {
+		RuleQuery query = RuleQuery.compile("java.io.(FileWriter|FileReader)*");
+		assertNull(query.getParameterTypes());
+		assertEquals("java.io.(FileWriter|FileReader).*", query.getFqnPattern());
+		assertTrue(query.matchesFqn("java.io.FileWriter"));
+		assertFalse(query.matchesFqn("java.io.File"));
+	}
+
+	@Test
+	public void testAlternativeQualifications() {
+		RuleQuery query = RuleQuery.compile("(javax|jakarta).ejb.Stateless");
+		assertEquals(2, query.getAlternatives().size());
+		RuleQuery.Alternative alternative = query.getAlternatives().get(1);
+		assertEquals("jakarta.ejb.Stateless", alternative.getName());
+		assertEquals("jakarta.ejb", alternative.getQualification());
+		assertEquals("jakarta", alternative.getPackageQualification());
+		assertEquals("jakarta/ejb", alternative.getQualificationPath());
+		assertTrue(alternative.matchesQualification("jakarta.ejb"));
+		assertFalse(alternative.matchesQualification("javax.ejb"));
+	}
+
+	@Test
+	public void testUnqualifiedQuery() {
+		RuleQuery query = RuleQuery.compile("Stateless");
+		assertFalse(query.isQualified());
+		assertEquals("", query.getAlternatives().get(0).getQualification());
+		assertFalse(query.getAlternatives().get(0).matchesQualification(""));
+	}
+
+	@Test
+	public void testMatchesTypeName() {
+		RuleQuery query = RuleQuery.compile("java.lang.String");
+		assertTrue(query.matchesTypeName("java.lang.String", 0, true));
+		assertTrue(query.matchesTypeName("java.lang.String", 1, true));
+		assertTrue(query.matchesTypeName("String", 0, false));
+		assertFalse(query.matchesTypeName("java.lang.StringBuilder", 0, true));
+		assertFalse(query.matchesTypeName("StringBuilder", 0, false));
+		assertFalse(query.matchesTypeName("lang", 0, false));
+	}
+
+	@Test
+	public void testMatchesTypeNameArrays() {
+		RuleQuery query = RuleQuery.compile("java.lang.String[]");
+		assertEquals(1, query.getArrayDimensions());
+		assertTrue(query.matchesTypeName("java.lang.String", 1, true));
+		assertFalse(query.matchesTypeName("java.lang.String", 0, true));
+		assertFalse(query.matchesTypeName("java.lang.String", 2, true));
+	}
+
+	@Test
+	public void testMatchesTypeNameSourceNames() {
+		RuleQuery query = RuleQuery.compile("java.util.Map.Entry");
+		assertTrue(query.matchesTypeName("Entry", 0, false));
+		assertTrue(query.matchesTypeName("Map.Entry", 0, false));
+		assertTrue(query.matchesTypeName("java.util.Map.Entry", 0, false));
+		assertFalse(query.matchesTypeName("Set.Entry", 0, false));
+
+		query = RuleQuery.compile("int");
+		assertTrue(query.matchesTypeName("int", 0, true));
+		assertFalse(query.matchesTypeName("long", 0, true));
+	}
+
+	@Test
+	public void testMatchesDeclaringType() {
+		RuleQuery wildcard = RuleQuery.compile("javax.persistence.*");
+		assertTrue(wildcard.matchesDeclaringType("javax.persistence.FetchType"));
+		assertFalse(wildcard.matchesDeclaringType("javax.ejb.TransactionAttributeType"));
+
+		RuleQuery constant = RuleQuery.compile("javax.persistence.FetchType.LAZY");
+		assertTrue(constant.matchesDeclaringType("javax.persistence.FetchType"));
+		assertFalse(constant.matchesDeclaringType("javax.persistence.CascadeType"));
+		assertFalse(constant.matchesDeclaringType("javax.persistence.FetchType.LAZY"));
+
+		RuleQuery alternation = RuleQuery.compile("javax.persistence.(FetchType|CascadeType).*");
+		assertTrue(alternation.matchesDeclaringType("javax.persistence.CascadeType"));
+		assertFalse(alternation.matchesDeclaringType("javax.persistence.LockModeType"));
+	}
+}
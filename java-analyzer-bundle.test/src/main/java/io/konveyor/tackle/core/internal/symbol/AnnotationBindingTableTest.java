@@ -0,0 +1,99 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.core.IAnnotation;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.search.SearchEngine;
+import org.eclipse.jdt.core.search.SearchMatch;
+import org.eclipse.lsp4j.SymbolInformation;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import io.konveyor.tackle.core.internal.JavaUtils;
+import io.konveyor.tackle.core.internal.query.RuleQuery;
+
+public class AnnotationBindingTableTest {
+
+    private static final String AUDITED = String.join("\n",
+            "package b;",
+            "",
+            "public @interface Audited {",
+            "}");
+    private static final String SERVICE = String.join("\n",
+            "package a;",
+            "",
+            "import b.Audited;",
+            "import missing.Gone;",
+            "",
+            "@Audited",
+            "public class Service {",
+            "    @b.Audited",
+            "    public void qualified() {}",
+            "",
+            "    @Gone",
+            "    public void unresolved() {}",
+            "",
+            "    public void create() {",
+            "        @Audited",
+            "        class Local {}",
+            "    }",
+            "}");
+
+    private static IJavaProject javaProject;
+    private static ICompilationUnit unit;
+    private static IType service;
+
+    @BeforeClass
+    public static void setUpProject() throws Exception {
+        javaProject = JavaUtils.createJavaProject("annotation-binding-table", Map.of("b/Audited.java", AUDITED, "a/Service.java", SERVICE));
+        unit = (ICompilationUnit) javaProject.findType("a.Service").getCompilationUnit();
+        service = unit.getType("Service");
+    }
+
+    @AfterClass
+    public static void deleteProject() throws Exception {
+        javaProject.getProject().delete(true, true, null);
+    }
+
+    @Test
+    public void testResolveByOffset() throws Exception {
+        AnnotationBindingTable table = AnnotationBindingTable.of(unit, false);
+
+        assertEquals("b.Audited", table.resolve(service.getAnnotation("Audited")));
+        assertEquals("b.Audited", table.resolve(service.getMethod("qualified", new String[0]).getAnnotation("b.Audited")));
+        assertNull("Unresolved annotations should be left out", table.resolve(service.getMethod("unresolved", new String[0]).getAnnotation("Gone")));
+    }
+
+    @Test
+    public void testResolveInBodies() throws Exception {
+        IAnnotation local = service.getMethod("create", new String[0]).getType("Local", 1).getAnnotation("Audited");
+
+        assertNull("Bodies should not be parsed for declarations", AnnotationBindingTable.of(unit, false).resolve(local));
+        assertEquals("b.Audited", AnnotationBindingTable.of(unit, true).resolve(local));
+    }
+
+    @Test
+    public void testFallbackToImportTable() throws Exception {
+        // the binding of @Gone is missing, the provider has to resolve it with the imports of the unit
+        assertEquals(1, getSymbols("missing.Gone").size());
+        assertTrue("Only the imported name should match", getSymbols("other.Gone").isEmpty());
+    }
+
+    private static List<SymbolInformation> getSymbols(String query) throws Exception {
+        IMethod unresolved = service.getMethod("unresolved", new String[0]);
+        IAnnotation annotation = unresolved.getAnnotation("Gone");
+        SearchMatch match = new SearchMatch(unresolved, SearchMatch.A_INACCURATE, annotation.getSourceRange().getOffset(),
+                annotation.getSourceRange().getLength(), SearchEngine.getDefaultSearchParticipant(), unit.getResource());
+        return new AnnotationSymbolProvider().get(match, new SearchContext(RuleQuery.compile(query), null));
+    }
+}
@@ -0,0 +1,68 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.junit.Test;
+
+/**
+ * Unit tests for the interval lookup of LocalVariableTable
+ */
+public class LocalVariableTableTest {
+
+    private static final String SOURCE = String.join("\n",
+            "class Sample {",
+            "    void run() {",
+            "        java.util.List<String> names = null, others = null;",
+            "        int count = 0;",
+            "        Runnable task = () -> { java.util.Map<String, Integer> counts = null; };",
+            "    }",
+            "}");
+
+    private static LocalVariableTable table() {
+        ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+        parser.setSource(SOURCE.toCharArray());
+        return LocalVariableTable.of((CompilationUnit) parser.createAST(null));
+    }
+
+    private static List<String> names(List<LocalVariableTable.LocalVariable> variables) {
+        return variables.stream().map(LocalVariableTable.LocalVariable::getName).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testLookupInDeclaredType() {
+        LocalVariableTable table = table();
+        assertEquals(List.of("names", "others"), names(table.lookup(SOURCE.indexOf("java.util.List"))));
+        assertEquals(List.of("names", "others"), names(table.lookup(SOURCE.indexOf("String> names"))));
+        assertEquals(List.of("count"), names(table.lookup(SOURCE.indexOf("int count"))));
+    }
+
+    @Test
+    public void testLookupInNestedStatement() {
+        LocalVariableTable table = table();
+        assertEquals(List.of("task"), names(table.lookup(SOURCE.indexOf("Runnable"))));
+        assertEquals(List.of("counts"), names(table.lookup(SOURCE.indexOf("Integer"))));
+    }
+
+    @Test
+    public void testLookupOutsideDeclaredTypes() {
+        LocalVariableTable table = table();
+        assertTrue(table.lookup(SOURCE.indexOf("names =")).isEmpty());
+        assertTrue(table.lookup(SOURCE.indexOf("void run")).isEmpty());
+        assertTrue(table.lookup(0).isEmpty());
+        assertTrue(LocalVariableTable.EMPTY.lookup(10).isEmpty());
+    }
+
+    @Test
+    public void testVariableRange() {
+        LocalVariableTable.LocalVariable count = table().lookup(SOURCE.indexOf("int count")).get(0);
+        assertEquals(SOURCE.indexOf("count"), count.getOffset());
+        assertEquals("count".length(), count.getLength());
+    }
+}
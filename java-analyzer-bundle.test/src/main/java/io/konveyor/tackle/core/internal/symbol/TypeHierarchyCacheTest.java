@@ -0,0 +1,105 @@
+package io.konveyor.tackle.core.internal.symbol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.junit.Test;
+
+public class TypeHierarchyCacheTest {
+
+    @Test
+    public void testClosure() {
+        TestType object = new TestType("java.lang.Object", null);
+        TestType closeable = new TestType("java.io.Closeable", null);
+        TestType base = new TestType("a.Base", object, closeable);
+        TestType child = new TestType("a.Child", base);
+
+        TypeHierarchyCache cache = new TypeHierarchyCache();
+        assertEquals(Set.of("a.Child", "a.Base", "java.io.Closeable", "java.lang.Object"), cache.getSupertypeNames(child.binding()));
+        // every complete closure on the way is cached
+        assertEquals(4, cache.size());
+        assertEquals(Set.of("a.Base", "java.io.Closeable", "java.lang.Object"), cache.getSupertypeNames(base.binding()));
+    }
+
+    @Test
+    public void testCycleIsNotCached() {
+        TestType object = new TestType("java.lang.Object", null);
+        TestType first = new TestType("a.First", null);
+        TestType second = new TestType("a.Second", first);
+        first.superclass = second;
+        TestType child = new TestType("a.Child", first);
+        TestType other = new TestType("a.Other", second);
+
+        TypeHierarchyCache cache = new TypeHierarchyCache();
+        assertEquals(Set.of("a.Child", "a.First", "a.Second"), cache.getSupertypeNames(child.binding()));
+        // Second was computed while First was on the stack, it must not be cached without First
+        assertEquals(Set.of("a.Other", "a.Second", "a.First"), cache.getSupertypeNames(other.binding()));
+        assertTrue(cache.getSupertypeNames(second.binding()).contains("a.First"));
+        assertTrue(cache.getSupertypeNames(object.binding()).contains("java.lang.Object"));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testRecoveredBindingIsNotCached() {
+        TestType missing = new TestType("b.Missing", null);
+        missing.recovered = true;
+        TestType child = new TestType("a.Child", missing);
+
+        TypeHierarchyCache cache = new TypeHierarchyCache();
+        assertTrue(cache.getSupertypeNames(child.binding()).contains("b.Missing"));
+        assertEquals(0, cache.size());
+    }
+
+    /*
+     * The parts of a type binding the cache reads.
+     */
+    private static class TestType {
+        final String name;
+        TestType superclass;
+        final List<TestType> interfaces;
+        boolean recovered;
+
+        TestType(String name, TestType superclass, TestType... interfaces) {
+            this.name = name;
+            this.superclass = superclass;
+            this.interfaces = List.of(interfaces);
+        }
+
+        ITypeBinding binding() {
+            return (ITypeBinding) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { ITypeBinding.class },
+                    (proxy, method, args) -> {
+                        switch (method.getName()) {
+                        case "getKey":
+                            return "L" + name.replace('.', '/') + ";";
+                        case "getQualifiedName":
+                        case "getName":
+                            return name;
+                        case "getErasure":
+                            return proxy;
+                        case "getSuperclass":
+                            return superclass != null ? superclass.binding() : null;
+                        case "getInterfaces":
+                            return interfaces.stream().map(TestType::binding).toArray(ITypeBinding[]::new);
+                        case "getTypeArguments":
+                            return new ITypeBinding[0];
+                        case "isRecovered":
+                            return recovered;
+                        case "isArray":
+                        case "isPrimitive":
+                            return false;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.konveyor.tackle.core.internal.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+public class OpenSourceLibraryExclusionManagerTest {
+
+	@Test
+	public void testShouldExcludeDocumentPath() throws Exception {
+		Path index = Files.createTempFile("maven", ".index");
+		Files.writeString(index, "junit/junit/.*\n\norg/apache/commons/.*\n");
+		OpenSourceLibraryExclusionManager manager = new OpenSourceLibraryExclusionManager("/home/user/.m2/repository", index.toString());
+
+		// class files in libraries are excluded by their archive
+		assertTrue(manager.shouldExcludeDocumentPath("/home/user/.m2/repository/junit/junit/4.13/junit-4.13.jar|org/junit/Test.class"));
+		assertTrue(manager.shouldExcludeDocumentPath("/home/user/.m2/repository/org/apache/commons/commons-lang3/3.12/commons-lang3-3.12.jar|org/apache/commons/lang3/StringUtils.class"));
+		assertTrue(manager.shouldExcludeDocumentPath("/home/user/.m2/repository/junit/junit/4.13/junit-4.13.jar"));
+		assertFalse(manager.shouldExcludeDocumentPath("/home/user/.m2/repository/com/example/internal/1.0/internal-1.0.jar|com/example/A.class"));
+		// sources and libraries outside of the repository
+		assertFalse(manager.shouldExcludeDocumentPath("/project/src/main/java/junit/junit/A.java"));
+		assertFalse(manager.shouldExcludeDocumentPath("/opt/lib/junit/junit/junit.jar|org/junit/Test.class"));
+		assertFalse(manager.shouldExcludeDocumentPath(null));
+	}
+}